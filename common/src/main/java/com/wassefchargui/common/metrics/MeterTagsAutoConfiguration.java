@@ -0,0 +1,54 @@
+package com.wassefchargui.common.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Aligns the tags of the request-level timers of every application with Micrometer on the
+ * classpath, so dashboards can slice every hop the same way: {@code route}, {@code method} and
+ * {@code outcome}. Histograms and SLO buckets are configured under
+ * {@code management.metrics.distribution}.
+ */
+@AutoConfiguration
+@ConditionalOnClass(MeterFilter.class)
+public class MeterTagsAutoConfiguration {
+
+    static final String SERVICE_TIMER = "app.service";
+    static final String REPOSITORY_TIMER = "spring.data.repository.invocations";
+
+    @Bean
+    @ConditionalOnMissingBean(name = "httpServerRouteTag")
+    public MeterFilter httpServerRouteTag() {
+        return MeterFilter.renameTag("http.server.requests", "uri", "route");
+    }
+
+    /**
+     * {@code @Timed} only tags the exception and Spring Data only its own {@code state}; both get an
+     * {@code outcome} like the HTTP timers.
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "outcomeTag")
+    public MeterFilter outcomeTag() {
+        return new MeterFilter() {
+            @Override
+            public Meter.Id map(Meter.Id id) {
+                if (id.getTag("outcome") != null) {
+                    return id;
+                }
+                if (REPOSITORY_TIMER.equals(id.getName()) && id.getTag("state") != null) {
+                    return id.withTag(Tag.of("outcome", id.getTag("state")));
+                }
+                if (SERVICE_TIMER.equals(id.getName()) && id.getTag("exception") != null) {
+                    String outcome = "none".equals(id.getTag("exception")) ? "SUCCESS" : "ERROR";
+                    return id.withTag(Tag.of("outcome", outcome));
+                }
+                return id;
+            }
+        };
+    }
+}
@@ -0,0 +1,12 @@
+package com.wassefchargui.common.pagination;
+
+/**
+ * A page request the client has to correct: an unknown sort, a foreign or corrupt cursor, a
+ * non-positive size. The services answer it with 400.
+ */
+public class InvalidPageRequestException extends RuntimeException {
+
+    public InvalidPageRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,31 @@
+package com.wassefchargui.common.pagination;
+
+import java.util.Arrays;
+
+/**
+ * A sort key of a keyset-paginated listing, implemented by an enum per listing. Every key is made
+ * unique by using the id as a tie-breaker, which is what keyset pagination needs to resume exactly
+ * after the last row: the next page starts after {@code (value, id) > (lastValue, lastId)}.
+ */
+public interface KeysetSort {
+
+    /**
+     * Value of the {@code sort} request parameter selecting this key, also recorded in its cursors.
+     */
+    String getParameter();
+
+    default PageCursor cursorAfter(Long lastId, String lastValue) {
+        return new PageCursor(getParameter(), lastId, lastValue);
+    }
+
+    default PageCursor decodeCursor(String token) {
+        return token == null ? null : PageCursor.decode(token, getParameter());
+    }
+
+    static <S extends Enum<S> & KeysetSort> S fromParameter(Class<S> type, String parameter) {
+        return Arrays.stream(type.getEnumConstants())
+                .filter(sort -> sort.getParameter().equalsIgnoreCase(parameter))
+                .findFirst()
+                .orElseThrow(() -> new InvalidPageRequestException("Unsupported sort '" + parameter + "'"));
+    }
+}
@@ -0,0 +1,33 @@
+package com.wassefchargui.common.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a page for keyset pagination: the sort key it was produced with,
+ * the id of the last row and, when sorting on another column, that column's value.
+ *
+ * <p>Clients only ever see the encoded form, which is an opaque URL-safe token.
+ */
+public record PageCursor(String sort, Long lastId, String lastValue) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = sort + SEPARATOR + lastId + SEPARATOR + (lastValue == null ? "" : lastValue);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String token, String expectedSort) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            if (parts.length != 3 || !parts[0].equals(expectedSort)) {
+                throw new InvalidPageRequestException("Cursor does not match sort '" + expectedSort + "'");
+            }
+            return new PageCursor(parts[0], Long.valueOf(parts[1]), parts[2]);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidPageRequestException("Invalid cursor: " + token);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.wassefchargui.common.pagination;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.pagination")
+public class PaginationProperties {
+
+    /**
+     * Page size used when the client does not ask for one.
+     */
+    private int defaultPageSize = 20;
+
+    /**
+     * Upper bound for the page size a client may request. Larger values are capped silently.
+     */
+    private int maxPageSize = 200;
+
+    /**
+     * The page size to serve for a requested {@code size}, which may be absent.
+     */
+    public int resolvePageSize(Integer size) {
+        if (size == null) {
+            return defaultPageSize;
+        }
+        if (size < 1) {
+            throw new InvalidPageRequestException("Page size must be positive");
+        }
+        return Math.min(size, maxPageSize);
+    }
+}
@@ -0,0 +1,107 @@
+package com.wassefchargui.common.tracing;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the last {@code maximumSpans} finished spans so that slow requests can be inspected without
+ * a tracing backend, e.g. on a laptop or during a load test.
+ */
+public class InMemorySpanExporter implements SpanExporter {
+
+    /**
+     * A span name repeated this many times within one trace is reported as a likely N+1 fan-out.
+     */
+    static final int REPEATED_SPAN_THRESHOLD = 5;
+
+    private final int maximumSpans;
+    private final ConcurrentLinkedDeque<SpanData> spans = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    public InMemorySpanExporter(int maximumSpans) {
+        this.maximumSpans = maximumSpans;
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> batch) {
+        for (SpanData span : batch) {
+            spans.addLast(span);
+            if (size.incrementAndGet() > maximumSpans && spans.pollFirst() != null) {
+                size.decrementAndGet();
+            }
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        spans.clear();
+        size.set(0);
+        return CompletableResultCode.ofSuccess();
+    }
+
+    /**
+     * One summary per trace, most recent first: root span, total duration, span count and the span
+     * names repeated often enough to suggest an N+1 pattern.
+     */
+    public List<Map<String, Object>> traces(int limit) {
+        Map<String, List<SpanData>> byTrace = spans.stream()
+                .collect(Collectors.groupingBy(SpanData::getTraceId, LinkedHashMap::new, Collectors.toList()));
+        return byTrace.values().stream()
+                .map(InMemorySpanExporter::summarize)
+                .sorted(Comparator.comparing((Map<String, Object> trace) -> (Long) trace.get("startEpochMicros"))
+                        .reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Every span of a trace, in start order.
+     */
+    public List<Map<String, Object>> trace(String traceId) {
+        return spans.stream()
+                .filter(span -> span.getTraceId().equals(traceId))
+                .sorted(Comparator.comparingLong(SpanData::getStartEpochNanos))
+                .map(SpanDescriptions::describe)
+                .toList();
+    }
+
+    private static Map<String, Object> summarize(List<SpanData> trace) {
+        long start = trace.stream().mapToLong(SpanData::getStartEpochNanos).min().orElse(0);
+        long end = trace.stream().mapToLong(SpanData::getEndEpochNanos).max().orElse(0);
+        SpanData root = trace.stream()
+                .filter(span -> !span.getParentSpanContext().isValid())
+                .findFirst()
+                .orElseGet(() -> trace.stream().min(Comparator.comparingLong(SpanData::getStartEpochNanos)).orElseThrow());
+        Map<String, Long> repeated = trace.stream()
+                .collect(Collectors.groupingBy(SpanData::getName, Collectors.counting()))
+                .entrySet().stream()
+                .filter(entry -> entry.getValue() >= REPEATED_SPAN_THRESHOLD)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("traceId", root.getTraceId());
+        summary.put("root", root.getName());
+        summary.put("startEpochMicros", TimeUnit.NANOSECONDS.toMicros(start));
+        summary.put("durationMicros", TimeUnit.NANOSECONDS.toMicros(end - start));
+        summary.put("spans", trace.size());
+        summary.put("repeatedSpans", repeated);
+        return summary;
+    }
+}
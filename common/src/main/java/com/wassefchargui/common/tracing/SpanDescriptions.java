@@ -0,0 +1,36 @@
+package com.wassefchargui.common.tracing;
+
+import io.opentelemetry.sdk.trace.data.SpanData;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flat, JSON-friendly view of a finished span shared by the offline exporters.
+ */
+final class SpanDescriptions {
+
+    private SpanDescriptions() {
+    }
+
+    static Map<String, Object> describe(SpanData span) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("traceId", span.getTraceId());
+        description.put("spanId", span.getSpanId());
+        description.put("parentSpanId", span.getParentSpanContext().isValid() ? span.getParentSpanId() : null);
+        description.put("name", span.getName());
+        description.put("kind", span.getKind());
+        description.put("startEpochMicros", TimeUnit.NANOSECONDS.toMicros(span.getStartEpochNanos()));
+        description.put("durationMicros", durationMicros(span));
+        description.put("status", span.getStatus().getStatusCode());
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), value));
+        description.put("attributes", attributes);
+        return description;
+    }
+
+    static long durationMicros(SpanData span) {
+        return TimeUnit.NANOSECONDS.toMicros(span.getEndEpochNanos() - span.getStartEpochNanos());
+    }
+}
@@ -0,0 +1,32 @@
+package com.wassefchargui.common.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recent traces kept by the {@link InMemorySpanExporter}: {@code /actuator/spans} lists them with
+ * their repeated spans, {@code /actuator/spans/{traceId}} shows one trace span by span.
+ */
+@Endpoint(id = "spans")
+@RequiredArgsConstructor
+public class SpansEndpoint {
+
+    private static final int MAXIMUM_TRACES = 100;
+
+    private final InMemorySpanExporter exporter;
+
+    @ReadOperation
+    public List<Map<String, Object>> traces() {
+        return exporter.traces(MAXIMUM_TRACES);
+    }
+
+    @ReadOperation
+    public List<Map<String, Object>> trace(@Selector String traceId) {
+        return exporter.trace(traceId);
+    }
+}
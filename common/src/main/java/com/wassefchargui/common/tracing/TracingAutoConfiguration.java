@@ -0,0 +1,61 @@
+package com.wassefchargui.common.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Registers the offline span exporters in every application with the OpenTelemetry SDK on the
+ * classpath. Spring Boot hands every {@code SpanExporter} bean to the batch span processor, so
+ * further exporters plug in the same way.
+ */
+@AutoConfiguration(after = JacksonAutoConfiguration.class)
+@ConditionalOnClass(SpanExporter.class)
+@EnableConfigurationProperties(TracingProperties.class)
+public class TracingAutoConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.tracing.memory", name = "enabled", havingValue = "true")
+    public InMemorySpanExporter inMemorySpanExporter(TracingProperties properties) {
+        return new InMemorySpanExporter(properties.getMemory().getMaximumSpans());
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(ObjectMapper.class)
+    static class FileSpanExporterConfiguration {
+
+        @Bean
+        @ConditionalOnProperty(prefix = "application.tracing.file", name = "enabled", havingValue = "true")
+        public FileSpanExporter fileSpanExporter(TracingProperties properties, ObjectMapper objectMapper,
+                                                 Environment environment) throws IOException {
+            Path path = properties.getFile().getPath();
+            if (path == null) {
+                path = Path.of(System.getProperty("java.io.tmpdir"),
+                        environment.getProperty("spring.application.name", "application") + "-spans.jsonl");
+            }
+            return new FileSpanExporter(path, objectMapper);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(Endpoint.class)
+    static class SpansEndpointConfiguration {
+
+        @Bean
+        @ConditionalOnProperty(prefix = "application.tracing.memory", name = "enabled", havingValue = "true")
+        public SpansEndpoint spansEndpoint(InMemorySpanExporter inMemorySpanExporter) {
+            return new SpansEndpoint(inMemorySpanExporter);
+        }
+    }
+}
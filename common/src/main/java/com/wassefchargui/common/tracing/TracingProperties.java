@@ -0,0 +1,53 @@
+package com.wassefchargui.common.tracing;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+/**
+ * Offline span exporters. Sampling is configured with {@code management.tracing.sampling}, and
+ * spans also go to an OTLP collector when {@code management.otlp.tracing.endpoint} is set.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.tracing")
+public class TracingProperties {
+
+    private Memory memory = new Memory();
+
+    private File file = new File();
+
+    @Getter
+    @Setter
+    public static class Memory {
+
+        /**
+         * Keep the most recent spans in memory and serve them on {@code /actuator/spans}. Meant for
+         * development and load tests: the endpoint shows request paths and attributes, so it stays
+         * off unless enabled.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Spans kept; the oldest are dropped first.
+         */
+        private int maximumSpans = 10_000;
+    }
+
+    @Getter
+    @Setter
+    public static class File {
+
+        /**
+         * Append every span as one JSON line to {@code path}.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Defaults to {@code <spring.application.name>-spans.jsonl} in the temporary directory.
+         */
+        private Path path;
+    }
+}
@@ -0,0 +1,57 @@
+package com.wassefchargui.common.pagination;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetSortTest {
+
+    enum TestSort implements KeysetSort {
+        ID("id"),
+        LAST_NAME("lastName");
+
+        private final String parameter;
+
+        TestSort(String parameter) {
+            this.parameter = parameter;
+        }
+
+        @Override
+        public String getParameter() {
+            return parameter;
+        }
+    }
+
+    @Test
+    void selectsTheSortIgnoringCase() {
+        assertThat(KeysetSort.fromParameter(TestSort.class, "LASTNAME")).isEqualTo(TestSort.LAST_NAME);
+    }
+
+    @Test
+    void rejectsAnUnknownSort() {
+        assertThatThrownBy(() -> KeysetSort.fromParameter(TestSort.class, "salary"))
+                .isInstanceOf(InvalidPageRequestException.class);
+    }
+
+    @Test
+    void startsFromTheFirstPageWithoutCursor() {
+        assertThat(TestSort.ID.decodeCursor(null)).isNull();
+    }
+
+    @Test
+    void resumesFromItsOwnCursors() {
+        String token = TestSort.LAST_NAME.cursorAfter(12L, "Martin").encode();
+
+        assertThat(TestSort.LAST_NAME.decodeCursor(token))
+                .isEqualTo(new PageCursor("lastName", 12L, "Martin"));
+    }
+
+    @Test
+    void rejectsTheCursorOfAnotherSort() {
+        String token = TestSort.ID.cursorAfter(12L, null).encode();
+
+        assertThatThrownBy(() -> TestSort.LAST_NAME.decodeCursor(token))
+                .isInstanceOf(InvalidPageRequestException.class);
+    }
+}
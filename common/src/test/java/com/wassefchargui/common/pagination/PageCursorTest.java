@@ -0,0 +1,64 @@
+package com.wassefchargui.common.pagination;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageCursorTest {
+
+    @Test
+    void decodesWhatItEncodes() {
+        PageCursor cursor = new PageCursor("lastName", 42L, "Dupont");
+
+        assertThat(PageCursor.decode(cursor.encode(), "lastName")).isEqualTo(cursor);
+    }
+
+    @Test
+    void keepsSeparatorsInTheLastValue() {
+        PageCursor cursor = new PageCursor("lastName", 7L, "a|b|c");
+
+        assertThat(PageCursor.decode(cursor.encode(), "lastName").lastValue()).isEqualTo("a|b|c");
+    }
+
+    @Test
+    void decodesAMissingLastValueAsEmpty() {
+        PageCursor decoded = PageCursor.decode(new PageCursor("id", 3L, null).encode(), "id");
+
+        assertThat(decoded.lastId()).isEqualTo(3L);
+        assertThat(decoded.lastValue()).isEmpty();
+    }
+
+    @Test
+    void encodesUrlSafely() {
+        String token = new PageCursor("lastName", Long.MAX_VALUE, "??>>~~ÿ").encode();
+
+        assertThat(token).doesNotContain("+", "/", "=");
+    }
+
+    @Test
+    void rejectsACursorOfAnotherSort() {
+        String token = new PageCursor("id", 1L, null).encode();
+
+        assertThatThrownBy(() -> PageCursor.decode(token, "lastName"))
+                .isInstanceOf(InvalidPageRequestException.class);
+    }
+
+    @Test
+    void rejectsAMalformedToken() {
+        assertThatThrownBy(() -> PageCursor.decode("not a cursor!", "id"))
+                .isInstanceOf(InvalidPageRequestException.class);
+    }
+
+    @Test
+    void rejectsANonNumericId() {
+        String token = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("id|abc|".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> PageCursor.decode(token, "id"))
+                .isInstanceOf(InvalidPageRequestException.class);
+    }
+}
@@ -0,0 +1,127 @@
+package com.wassefchargui.department_service.benchmark;
+
+import com.wassefchargui.department_service.DepartmentServiceApplication;
+import com.wassefchargui.department_service.dto.DepartementRequestDto;
+import com.wassefchargui.department_service.dto.DepartementResponseDto;
+import com.wassefchargui.department_service.service.DepartementService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Department lookups through the service against the in-memory database of the {@code loadtest}
+ * profile, with and without the second-level and query caches. Next to the score, reports
+ * {@code statements}: the JDBC statements the lookups prepared per second. Divided by the score it
+ * gives the database round trips per lookup, which is what the caches remove; against a real
+ * database each one is a network hop.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DepartementCacheBenchmark {
+
+    private static final int DEPARTEMENTS = 100;
+    private static final int BATCH_SIZE = 20;
+
+    @Param({"false", "true"})
+    private boolean cached;
+
+    private ConfigurableApplicationContext context;
+    private DepartementService service;
+    private Statistics statistics;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(DepartmentServiceApplication.class)
+                .profiles("loadtest")
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.jpa.properties.hibernate.cache.use_second_level_cache=" + cached,
+                        "spring.jpa.properties.hibernate.cache.use_query_cache=" + cached,
+                        "management.tracing.enabled=false")
+                .run();
+        service = context.getBean(DepartementService.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        for (int i = 1; i <= DEPARTEMENTS; i++) {
+            service.createDepartement(DepartementRequestDto.builder().nom(nom(i)).build());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public DepartementResponseDto byId(Lookups lookups) {
+        long before = statistics.getPrepareStatementCount();
+        DepartementResponseDto departement = service.getDepartementById((long) lookups.next());
+        lookups.statements += statistics.getPrepareStatementCount() - before;
+        return departement;
+    }
+
+    @Benchmark
+    public DepartementResponseDto byNom(Lookups lookups) {
+        long before = statistics.getPrepareStatementCount();
+        DepartementResponseDto departement = service.getDepartementByNom(nom(lookups.next()));
+        lookups.statements += statistics.getPrepareStatementCount() - before;
+        return departement;
+    }
+
+    @Benchmark
+    public List<DepartementResponseDto> byIds(Lookups lookups) {
+        long before = statistics.getPrepareStatementCount();
+        Set<Long> ids = lookups.nextBatch();
+        List<DepartementResponseDto> departements = service.getDepartementsByIds(ids);
+        lookups.statements += statistics.getPrepareStatementCount() - before;
+        return departements;
+    }
+
+    private static String nom(int i) {
+        return "Department " + i;
+    }
+
+    /**
+     * Cycles through the seeded departments and counts the statements prepared by this thread's
+     * lookups.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Lookups {
+
+        public long statements;
+
+        private int current;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+        }
+
+        int next() {
+            current = current % DEPARTEMENTS + 1;
+            return current;
+        }
+
+        Set<Long> nextBatch() {
+            long first = next();
+            return LongStream.range(first, first + BATCH_SIZE)
+                    .map(id -> (id - 1) % DEPARTEMENTS + 1)
+                    .boxed()
+                    .collect(Collectors.toSet());
+        }
+    }
+}
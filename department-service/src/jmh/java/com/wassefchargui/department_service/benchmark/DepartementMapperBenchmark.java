@@ -0,0 +1,49 @@
+package com.wassefchargui.department_service.benchmark;
+
+import com.wassefchargui.department_service.dto.DepartementRequestDto;
+import com.wassefchargui.department_service.dto.DepartementResponseDto;
+import com.wassefchargui.department_service.entity.Departement;
+import com.wassefchargui.department_service.mapper.DepartementMapper;
+import com.wassefchargui.department_service.mapper.DepartementMapperImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DepartementMapperBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private DepartementMapper mapper;
+    private List<Departement> departements;
+    private DepartementRequestDto requestDto;
+
+    @Setup
+    public void setUp() {
+        mapper = new DepartementMapperImpl();
+        departements = LongStream.rangeClosed(1, size)
+                .mapToObj(id -> Departement.builder().id(id).nom("Department " + id).build())
+                .toList();
+        requestDto = DepartementRequestDto.builder().nom("Information Technology").build();
+    }
+
+    @Benchmark
+    public List<DepartementResponseDto> toResponseDtoList() {
+        return departements.stream()
+                .map(mapper::toResponseDto)
+                .toList();
+    }
+
+    @Benchmark
+    public Departement toEntity() {
+        return mapper.toEntity(requestDto);
+    }
+}
@@ -0,0 +1,68 @@
+package com.wassefchargui.department_service.config.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator view of the Hibernate second-level and query caches: hits, misses and puts per region,
+ * and the number of JDBC statements prepared since startup, so the round trips saved by the cache
+ * can be read off directly. The same counters are published as {@code hibernate.*} metrics.
+ * {@code DELETE /actuator/hibernatecache} empties every region.
+ */
+@Component
+@Endpoint(id = "hibernatecache")
+@RequiredArgsConstructor
+public class HibernateCacheEndpoint {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @ReadOperation
+    public Map<String, Object> statistics() {
+        Statistics statistics = sessionFactory().getStatistics();
+        Map<String, Object> regions = new LinkedHashMap<>();
+        Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .forEach(name -> regions.put(name, describe(statistics.getCacheRegionStatistics(name))));
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        result.put("secondLevelCacheHits", statistics.getSecondLevelCacheHitCount());
+        result.put("secondLevelCacheMisses", statistics.getSecondLevelCacheMissCount());
+        result.put("queryCacheHits", statistics.getQueryCacheHitCount());
+        result.put("queryCacheMisses", statistics.getQueryCacheMissCount());
+        result.put("preparedStatements", statistics.getPrepareStatementCount());
+        result.put("regions", regions);
+        return result;
+    }
+
+    @DeleteOperation
+    public void evictAll() {
+        sessionFactory().getCache().evictAllRegions();
+    }
+
+    private Map<String, Object> describe(CacheRegionStatistics region) {
+        if (region == null) {
+            return Map.of();
+        }
+        return Map.of(
+                "hits", region.getHitCount(),
+                "misses", region.getMissCount(),
+                "puts", region.getPutCount(),
+                "size", region.getElementCountInMemory());
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+}
@@ -0,0 +1,23 @@
+package com.wassefchargui.department_service.config.events;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.events")
+public class EventsProperties {
+
+    /**
+     * Whether department changes are published to Kafka. Disable where no broker is available,
+     * e.g. in tests.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Compacted topic carrying one {@code DepartementEvent} per change, keyed by department id,
+     * with a tombstone for every deletion.
+     */
+    private String departmentTopic = "department-events";
+}
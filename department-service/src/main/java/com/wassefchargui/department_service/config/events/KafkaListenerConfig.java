@@ -0,0 +1,33 @@
+package com.wassefchargui.department_service.config.events;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+
+@Configuration
+@ConditionalOnProperty(prefix = "application.events", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class KafkaListenerConfig {
+
+    public static final String CACHE_INVALIDATION_CONTAINER_FACTORY = "cacheInvalidationContainerFactory";
+
+    /**
+     * Listener containers that never commit offsets. Cache invalidation only cares about events
+     * published from now on, so committed offsets would be useless; without them the per-instance
+     * consumer group is dropped by the broker as soon as the instance leaves, instead of piling up
+     * until the offsets expire.
+     */
+    @Bean(CACHE_INVALIDATION_CONTAINER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> cacheInvalidationContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        // manual acknowledgment that the listener never gives: nothing is ever committed
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        return factory;
+    }
+}
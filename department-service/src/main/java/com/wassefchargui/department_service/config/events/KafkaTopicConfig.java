@@ -0,0 +1,24 @@
+package com.wassefchargui.department_service.config.events;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+@Configuration
+@EnableConfigurationProperties(EventsProperties.class)
+public class KafkaTopicConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.events", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public NewTopic departmentEventsTopic(EventsProperties properties) {
+        // compacted: the latest event per department is kept forever, so the topic is a full replica
+        return TopicBuilder.name(properties.getDepartmentTopic())
+                .partitions(1)
+                .replicas(1)
+                .compact()
+                .build();
+    }
+}
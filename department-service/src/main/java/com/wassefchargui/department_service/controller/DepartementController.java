@@ -1,5 +1,6 @@
 package com.wassefchargui.department_service.controller;
 
+import com.wassefchargui.department_service.dto.CursorPageResponseDto;
 import com.wassefchargui.department_service.dto.DepartementRequestDto;
 import com.wassefchargui.department_service.dto.DepartementResponseDto;
 import com.wassefchargui.department_service.service.DepartementService;
@@ -13,11 +14,14 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/departements")
@@ -45,61 +49,102 @@ public class DepartementController {
             @Valid @RequestBody DepartementRequestDto requestDto) {
         log.info("REST request to create department: {}", requestDto.getNom());
         DepartementResponseDto responseDto = departementService.createDepartement(requestDto);
-        return new ResponseEntity<>(responseDto, HttpStatus.CREATED);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(EntityTags.of(responseDto.getVersion()))
+                .body(responseDto);
     }
 
     @GetMapping("/{id}")
     @Operation(
         summary = "Get department by ID",
-        description = "Retrieves a department by its unique identifier"
+        description = "Retrieves a department by its unique identifier. The response carries the department version "
+                + "as ETag; sending it back in If-None-Match returns 304 without loading the department."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Department found",
                 content = @Content(schema = @Schema(implementation = DepartementResponseDto.class))),
+        @ApiResponse(responseCode = "304", description = "Department unchanged since the given ETag"),
         @ApiResponse(responseCode = "404", description = "Department not found")
     })
     public ResponseEntity<DepartementResponseDto> getDepartementById(
             @Parameter(description = "Department ID", required = true, example = "1")
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest webRequest) {
         log.info("REST request to get department by id: {}", id);
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && webRequest.checkNotModified(EntityTags.of(departementService.getDepartementVersion(id)))) {
+            return null;
+        }
         DepartementResponseDto responseDto = departementService.getDepartementById(id);
-        return ResponseEntity.ok(responseDto);
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(responseDto.getVersion()))
+                .body(responseDto);
     }
 
     @GetMapping
     @Operation(
         summary = "Get all departments",
-        description = "Retrieves a list of all departments in the system"
+        description = "Retrieves one page of departments. Pass the returned nextCursor to fetch the following page."
     )
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "List of departments retrieved successfully")
+        @ApiResponse(responseCode = "200", description = "Page of departments retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor, page size or sort")
     })
-    public ResponseEntity<List<DepartementResponseDto>> getAllDepartements() {
-        log.info("REST request to get all departments");
-        List<DepartementResponseDto> departements = departementService.getAllDepartements();
+    public ResponseEntity<CursorPageResponseDto<DepartementResponseDto>> getAllDepartements(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped by the configured maximum", example = "20")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Sort key: id or nom", example = "id")
+            @RequestParam(defaultValue = "id") String sort) {
+        log.info("REST request to get departments page, sort: {}, size: {}", sort, size);
+        CursorPageResponseDto<DepartementResponseDto> page = departementService.getAllDepartements(cursor, size, sort);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/batch")
+    @Operation(
+        summary = "Get departments by IDs",
+        description = "Retrieves several departments in a single call. Unknown IDs are silently skipped."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "List of matching departments retrieved successfully")
+    })
+    public ResponseEntity<List<DepartementResponseDto>> getDepartementsByIds(
+            @Parameter(description = "Department IDs", required = true, example = "1,2,3")
+            @RequestParam Set<Long> ids) {
+        log.info("REST request to get departments by ids: {}", ids);
+        List<DepartementResponseDto> departements = departementService.getDepartementsByIds(ids);
         return ResponseEntity.ok(departements);
     }
 
     @PutMapping("/{id}")
     @Operation(
         summary = "Update a department",
-        description = "Updates an existing department with new information. Department name must be unique."
+        description = "Updates an existing department with new information. Department name must be unique. "
+                + "With If-Match, the update only applies if the department is still at that ETag."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Department updated successfully",
                 content = @Content(schema = @Schema(implementation = DepartementResponseDto.class))),
         @ApiResponse(responseCode = "400", description = "Invalid input data"),
         @ApiResponse(responseCode = "404", description = "Department not found"),
-        @ApiResponse(responseCode = "409", description = "Department with this name already exists")
+        @ApiResponse(responseCode = "409", description = "Department with this name already exists or was modified concurrently"),
+        @ApiResponse(responseCode = "412", description = "Department no longer matches the If-Match ETag")
     })
     public ResponseEntity<DepartementResponseDto> updateDepartement(
             @Parameter(description = "Department ID", required = true, example = "1")
             @PathVariable Long id,
+            @Parameter(description = "ETag of the version being edited", example = "\"3\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Parameter(description = "Updated department information", required = true)
             @Valid @RequestBody DepartementRequestDto requestDto) {
         log.info("REST request to update department with id: {}", id);
-        DepartementResponseDto responseDto = departementService.updateDepartement(id, requestDto);
-        return ResponseEntity.ok(responseDto);
+        DepartementResponseDto responseDto = departementService.updateDepartement(
+                id, requestDto, EntityTags.expectedVersion(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(responseDto.getVersion()))
+                .body(responseDto);
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,38 @@
+package com.wassefchargui.department_service.controller;
+
+/**
+ * Strong entity tags derived from the JPA {@code @Version} of a department.
+ */
+final class EntityTags {
+
+    /**
+     * Matches no stored version, so a weak or malformed If-Match always fails the precondition.
+     */
+    private static final long NO_VERSION = -1L;
+
+    private EntityTags() {
+    }
+
+    static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Version an update must still find, read from its If-Match header, or {@code null} when the
+     * header is absent or {@code *}.
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (!tag.startsWith("\"") || !tag.endsWith("\"") || tag.length() < 3) {
+            return NO_VERSION;
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException ex) {
+            return NO_VERSION;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.wassefchargui.department_service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(description = "One page of a cursor-paginated listing")
+public class CursorPageResponseDto<T> {
+
+    @Schema(description = "Items of the current page")
+    private List<T> content;
+
+    @Schema(description = "Number of items in the current page", example = "20")
+    private int size;
+
+    @Schema(description = "Whether another page follows this one", example = "true")
+    private boolean hasNext;
+
+    @Schema(description = "Opaque token to pass as 'cursor' to fetch the next page, absent on the last page",
+            example = "aWR8NDJ8")
+    private String nextCursor;
+}
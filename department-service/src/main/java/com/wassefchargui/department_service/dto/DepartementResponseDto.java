@@ -16,4 +16,7 @@ public class DepartementResponseDto {
 
     @Schema(description = "Department name", example = "Information Technology")
     private String nom;
+
+    @Schema(description = "Version, incremented on every update and returned as ETag", example = "0")
+    private Long version;
 }
@@ -3,16 +3,30 @@ package com.wassefchargui.department_service.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
+/**
+ * Kept in the {@value #CACHE_REGION} second-level cache region; the name lookups are cached in
+ * {@value #NOM_QUERY_REGION}. Both are bounded in {@code application.conf}.
+ */
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name = "departements")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Departement.CACHE_REGION)
+@Table(name = "departements", indexes = {
+        @Index(name = "idx_departements_nom_id", columnList = "nom, id")
+})
 public class Departement {
 
+    public static final String CACHE_REGION = "departements";
+    public static final String NOM_QUERY_REGION = "departements-by-nom";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -20,4 +34,12 @@ public class Departement {
     @NotBlank(message = "Department name is required")
     @Column(nullable = false)
     private String nom;
+
+    /**
+     * Incremented on every update; exposed as the ETag of the department.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
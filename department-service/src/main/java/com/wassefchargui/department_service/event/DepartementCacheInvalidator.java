@@ -0,0 +1,38 @@
+package com.wassefchargui.department_service.event;
+
+import com.wassefchargui.department_service.config.events.KafkaListenerConfig;
+import com.wassefchargui.department_service.entity.Departement;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.hibernate.SessionFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the second-level cache of every instance consistent with changes made by the others.
+ * Hibernate already invalidates the local cache on the instance that commits a change; the other
+ * instances learn about it from the department events topic, each through its own consumer group,
+ * and evict the department and the name lookups. The instance that made the change evicts too,
+ * which only costs one reload. Deletions arrive as tombstones, so only the record key is used.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "application.events", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DepartementCacheInvalidator {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @KafkaListener(topics = "${application.events.department-topic}",
+            groupId = "${spring.application.name}-cache-${random.uuid}",
+            containerFactory = KafkaListenerConfig.CACHE_INVALIDATION_CONTAINER_FACTORY)
+    public void onDepartementEvent(ConsumerRecord<String, DepartementEvent> record) {
+        Long id = Long.valueOf(record.key());
+        log.debug("Evicting department {} from the second-level cache", id);
+        entityManagerFactory.getCache().evict(Departement.class, id);
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegion(Departement.NOM_QUERY_REGION);
+    }
+}
@@ -0,0 +1,32 @@
+package com.wassefchargui.department_service.event;
+
+import com.wassefchargui.department_service.entity.Departement;
+
+import java.time.Instant;
+
+/**
+ * Change notification for a department, published once the surrounding transaction commits.
+ * {@code nom} and {@code version} are null for {@link Type#DELETED} events.
+ */
+public record DepartementEvent(Type type, Long id, String nom, Long version, Instant occurredAt) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static DepartementEvent created(Departement departement) {
+        return new DepartementEvent(Type.CREATED, departement.getId(), departement.getNom(),
+                departement.getVersion(), Instant.now());
+    }
+
+    public static DepartementEvent updated(Departement departement) {
+        return new DepartementEvent(Type.UPDATED, departement.getId(), departement.getNom(),
+                departement.getVersion(), Instant.now());
+    }
+
+    public static DepartementEvent deleted(Long id) {
+        return new DepartementEvent(Type.DELETED, id, null, null, Instant.now());
+    }
+}
@@ -0,0 +1,45 @@
+package com.wassefchargui.department_service.event;
+
+import com.wassefchargui.department_service.config.events.EventsProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Publishes department changes once they are committed, keyed by department id. A deletion is
+ * published as a tombstone (null value) so that compaction eventually removes the department from
+ * the topic instead of keeping its last event forever.
+ *
+ * <p>Runs on the thread that committed, before the response is sent: {@code max.block.ms} bounds
+ * how long a send may block when the broker is unreachable, and failures are logged rather than
+ * thrown, since the change itself is already committed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "application.events", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class KafkaDepartementEventPublisher {
+
+    private final KafkaTemplate<String, DepartementEvent> kafkaTemplate;
+    private final EventsProperties properties;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void publish(DepartementEvent event) {
+        log.info("Publishing {} event for department {}", event.type(), event.id());
+        DepartementEvent value = event.type() == DepartementEvent.Type.DELETED ? null : event;
+        try {
+            kafkaTemplate.send(properties.getDepartmentTopic(), String.valueOf(event.id()), value)
+                    .whenComplete((result, ex) -> {
+                        if (ex != null) {
+                            log.error("Failed to publish {} event for department {}: {}", event.type(), event.id(), ex.getMessage());
+                        }
+                    });
+        } catch (RuntimeException ex) {
+            log.error("Failed to publish {} event for department {}: {}", event.type(), event.id(), ex.getMessage());
+        }
+    }
+}
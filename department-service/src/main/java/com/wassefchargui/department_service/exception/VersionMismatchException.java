@@ -0,0 +1,9 @@
+package com.wassefchargui.department_service.exception;
+
+public class VersionMismatchException extends RuntimeException {
+
+    public VersionMismatchException(Long id, Long expectedVersion, Long actualVersion) {
+        super("Department " + id + " is at version " + actualVersion + ", not " + expectedVersion
+                + ". Fetch it again before updating.");
+    }
+}
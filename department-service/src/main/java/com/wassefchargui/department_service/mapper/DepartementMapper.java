@@ -13,8 +13,10 @@ public interface DepartementMapper {
     DepartementResponseDto toResponseDto(Departement departement);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Departement toEntity(DepartementRequestDto requestDto);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void updateEntityFromDto(DepartementRequestDto requestDto, @MappingTarget Departement departement);
 }
@@ -0,0 +1,31 @@
+package com.wassefchargui.department_service.pagination;
+
+import com.wassefchargui.common.pagination.KeysetSort;
+import com.wassefchargui.common.pagination.PageCursor;
+import com.wassefchargui.department_service.entity.Departement;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.function.Function;
+
+/**
+ * Sort keys supported by the department listing, each with the id as tie-breaker.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum DepartementSort implements KeysetSort {
+
+    ID("id", departement -> null),
+    NOM("nom", Departement::getNom);
+
+    private final String parameter;
+    private final Function<Departement, String> sortValue;
+
+    public PageCursor cursorAfter(Departement departement) {
+        return cursorAfter(departement.getId(), sortValue.apply(departement));
+    }
+
+    public static DepartementSort fromParameter(String parameter) {
+        return KeysetSort.fromParameter(DepartementSort.class, parameter);
+    }
+}
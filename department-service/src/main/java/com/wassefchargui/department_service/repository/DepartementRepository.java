@@ -1,15 +1,51 @@
 package com.wassefchargui.department_service.repository;
 
 import com.wassefchargui.department_service.entity.Departement;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface DepartementRepository extends JpaRepository<Departement, Long> {
 
+    /**
+     * Query-cached: the result holds the department id, the entity itself then comes from the
+     * second-level cache. Invalidated whenever the departements table changes.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Departement.NOM_QUERY_REGION)
+    })
     Optional<Departement> findByNom(String nom);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Departement.NOM_QUERY_REGION)
+    })
     boolean existsByNom(String nom);
+
+    List<Departement> findAllByOrderByIdAsc(Limit limit);
+
+    List<Departement> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    List<Departement> findAllByOrderByNomAscIdAsc(Limit limit);
+
+    /**
+     * Row-value comparison, so the database seeks the {@code (nom, id)} index straight to the
+     * cursor instead of combining two range conditions.
+     */
+    @Query("""
+            select d from Departement d
+            where (d.nom, d.id) > (:nom, :id)
+            order by d.nom asc, d.id asc
+            """)
+    List<Departement> findPageAfterNom(@Param("nom") String nom, @Param("id") Long id, Limit limit);
 }
@@ -1,8 +1,10 @@
 package com.wassefchargui.department_service.service;
 
+import com.wassefchargui.department_service.dto.CursorPageResponseDto;
 import com.wassefchargui.department_service.dto.DepartementRequestDto;
 import com.wassefchargui.department_service.dto.DepartementResponseDto;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface DepartementService {
@@ -11,9 +13,19 @@ public interface DepartementService {
 
     DepartementResponseDto getDepartementById(Long id);
 
-    List<DepartementResponseDto> getAllDepartements();
+    /**
+     * Current version of a department, read without loading the entity.
+     */
+    Long getDepartementVersion(Long id);
 
-    DepartementResponseDto updateDepartement(Long id, DepartementRequestDto requestDto);
+    CursorPageResponseDto<DepartementResponseDto> getAllDepartements(String cursor, Integer size, String sort);
+
+    List<DepartementResponseDto> getDepartementsByIds(Collection<Long> ids);
+
+    /**
+     * Updates a department, provided it is still at {@code expectedVersion} when that is not null.
+     */
+    DepartementResponseDto updateDepartement(Long id, DepartementRequestDto requestDto, Long expectedVersion);
 
     void deleteDepartement(Long id);
 
@@ -1,29 +1,48 @@
 package com.wassefchargui.department_service.service.impl;
 
+import com.wassefchargui.common.pagination.PageCursor;
+import com.wassefchargui.common.pagination.PaginationProperties;
+import com.wassefchargui.department_service.dto.CursorPageResponseDto;
 import com.wassefchargui.department_service.dto.DepartementRequestDto;
 import com.wassefchargui.department_service.dto.DepartementResponseDto;
 import com.wassefchargui.department_service.entity.Departement;
+import com.wassefchargui.department_service.event.DepartementEvent;
 import com.wassefchargui.department_service.exception.DepartementAlreadyExistsException;
 import com.wassefchargui.department_service.exception.DepartementNotFoundException;
+import com.wassefchargui.department_service.exception.VersionMismatchException;
 import com.wassefchargui.department_service.mapper.DepartementMapper;
+import com.wassefchargui.department_service.pagination.DepartementSort;
 import com.wassefchargui.department_service.repository.DepartementRepository;
 import com.wassefchargui.department_service.service.DepartementService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 @Transactional
+@Timed(value = "app.service", description = "Service method invocations")
+@EnableConfigurationProperties(PaginationProperties.class)
 public class DepartementServiceImpl implements DepartementService {
 
     private final DepartementRepository departementRepository;
     private final DepartementMapper departementMapper;
+    private final PaginationProperties paginationProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
 
     @Override
     public DepartementResponseDto createDepartement(DepartementRequestDto requestDto) {
@@ -35,6 +54,7 @@ public class DepartementServiceImpl implements DepartementService {
 
         Departement departement = departementMapper.toEntity(requestDto);
         Departement savedDepartement = departementRepository.save(departement);
+        eventPublisher.publishEvent(DepartementEvent.created(savedDepartement));
 
         log.info("Department created successfully with id: {}", savedDepartement.getId());
         return departementMapper.toResponseDto(savedDepartement);
@@ -53,22 +73,71 @@ public class DepartementServiceImpl implements DepartementService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<DepartementResponseDto> getAllDepartements() {
-        log.info("Fetching all departments");
+    public Long getDepartementVersion(Long id) {
+        // served from the second-level cache, so conditional GETs do not reach the database
+        return departementRepository.findById(id)
+                .map(Departement::getVersion)
+                .orElseThrow(() -> new DepartementNotFoundException(id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDto<DepartementResponseDto> getAllDepartements(String cursor, Integer size, String sort) {
+        DepartementSort departementSort = DepartementSort.fromParameter(sort);
+        int pageSize = paginationProperties.resolvePageSize(size);
+        log.info("Fetching departments page of size {} sorted by {}", pageSize, departementSort.getParameter());
+
+        PageCursor after = departementSort.decodeCursor(cursor);
+        Limit limit = Limit.of(pageSize + 1);
+        List<Departement> departements = switch (departementSort) {
+            case ID -> after == null
+                    ? departementRepository.findAllByOrderByIdAsc(limit)
+                    : departementRepository.findByIdGreaterThanOrderByIdAsc(after.lastId(), limit);
+            case NOM -> after == null
+                    ? departementRepository.findAllByOrderByNomAscIdAsc(limit)
+                    : departementRepository.findPageAfterNom(after.lastValue(), after.lastId(), limit);
+        };
+
+        boolean hasNext = departements.size() > pageSize;
+        List<Departement> page = hasNext ? departements.subList(0, pageSize) : departements;
+        String nextCursor = hasNext ? departementSort.cursorAfter(page.get(page.size() - 1)).encode() : null;
+
+        return CursorPageResponseDto.<DepartementResponseDto>builder()
+                .content(page.stream()
+                        .map(departementMapper::toResponseDto)
+                        .collect(Collectors.toList()))
+                .size(page.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
 
-        List<Departement> departements = departementRepository.findAll();
+    @Override
+    @Transactional(readOnly = true)
+    public List<DepartementResponseDto> getDepartementsByIds(Collection<Long> ids) {
+        log.info("Fetching {} departments by id", ids.size());
+
+        // unlike findAllById, multiLoad only queries the ids missing from the second-level cache
+        List<Departement> departements = entityManager.unwrap(Session.class)
+                .byMultipleIds(Departement.class)
+                .multiLoad(List.copyOf(ids));
         return departements.stream()
+                .filter(Objects::nonNull)
                 .map(departementMapper::toResponseDto)
                 .collect(Collectors.toList());
     }
 
     @Override
-    public DepartementResponseDto updateDepartement(Long id, DepartementRequestDto requestDto) {
+    public DepartementResponseDto updateDepartement(Long id, DepartementRequestDto requestDto, Long expectedVersion) {
         log.info("Updating department with id: {}", id);
 
         Departement existingDepartement = departementRepository.findById(id)
                 .orElseThrow(() -> new DepartementNotFoundException(id));
 
+        if (expectedVersion != null && !expectedVersion.equals(existingDepartement.getVersion())) {
+            throw new VersionMismatchException(id, expectedVersion, existingDepartement.getVersion());
+        }
+
         // Check if the new name already exists for a different department
         if (!existingDepartement.getNom().equals(requestDto.getNom()) &&
             departementRepository.existsByNom(requestDto.getNom())) {
@@ -76,7 +145,9 @@ public class DepartementServiceImpl implements DepartementService {
         }
 
         departementMapper.updateEntityFromDto(requestDto, existingDepartement);
-        Departement updatedDepartement = departementRepository.save(existingDepartement);
+        // flush so that the returned DTO and the event carry the incremented version
+        Departement updatedDepartement = departementRepository.saveAndFlush(existingDepartement);
+        eventPublisher.publishEvent(DepartementEvent.updated(updatedDepartement));
 
         log.info("Department updated successfully with id: {}", updatedDepartement.getId());
         return departementMapper.toResponseDto(updatedDepartement);
@@ -91,6 +162,7 @@ public class DepartementServiceImpl implements DepartementService {
         }
 
         departementRepository.deleteById(id);
+        eventPublisher.publishEvent(DepartementEvent.deleted(id));
         log.info("Department deleted successfully with id: {}", id);
     }
 
@@ -0,0 +1,232 @@
+package com.wassefchargui.employee_service.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.wassefchargui.common.pagination.PaginationProperties;
+import com.wassefchargui.employee_service.client.DepartmentBatchLoader;
+import com.wassefchargui.employee_service.client.DepartmentCache;
+import com.wassefchargui.employee_service.client.DepartmentClient;
+import com.wassefchargui.employee_service.config.cache.DepartmentCacheProperties;
+import com.wassefchargui.employee_service.config.client.DepartmentClientProperties;
+import com.wassefchargui.employee_service.config.imports.BulkImportProperties;
+import com.wassefchargui.employee_service.config.search.SearchProperties;
+import com.wassefchargui.employee_service.dto.CursorPageResponseDto;
+import com.wassefchargui.employee_service.dto.DepartmentDto;
+import com.wassefchargui.employee_service.entity.Employee;
+import com.wassefchargui.employee_service.fieldset.EmployeeFields;
+import com.wassefchargui.employee_service.mapper.EmployeeMapper;
+import com.wassefchargui.employee_service.mapper.EmployeeMapperImpl;
+import com.wassefchargui.employee_service.readmodel.DepartmentReadModel;
+import com.wassefchargui.employee_service.repository.DepartmentSalarySummaryRepository;
+import com.wassefchargui.employee_service.repository.EmployeeRepository;
+import com.wassefchargui.employee_service.search.EmployeeSearch;
+import com.wassefchargui.employee_service.service.impl.EmployeeServiceImpl;
+import com.wassefchargui.employee_service.statistics.DepartmentSalarySummaries;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.LongStream;
+
+/**
+ * Builds the objects under benchmark without a Spring context. Remote and database collaborators
+ * are replaced by in-memory stubs so that only our own code is measured.
+ */
+final class BenchmarkFixtures {
+
+    static final int DEPARTMENT_COUNT = 20;
+
+    private BenchmarkFixtures() {
+    }
+
+    static List<Employee> employees(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> Employee.builder()
+                        .id(id)
+                        .firstName("First" + id)
+                        .lastName("Last" + id)
+                        .email("employee" + id + "@company.com")
+                        .position("Software Engineer")
+                        .salary(50_000.0 + id)
+                        .hireDate(LocalDate.of(2024, 1, 15))
+                        .departmentId(id % DEPARTMENT_COUNT + 1)
+                        .build())
+                .toList();
+    }
+
+    static EmployeeMapper employeeMapper() {
+        return new EmployeeMapperImpl();
+    }
+
+    static ObjectMapper objectMapper() {
+        return objectMapper(new JsonFactory());
+    }
+
+    /**
+     * A mapper writing the format of {@code factory} (JSON, CBOR, Smile), configured like the
+     * application's converters.
+     */
+    static ObjectMapper objectMapper(JsonFactory factory) {
+        // same date handling as the application's auto-configured mapper
+        return new ObjectMapper(factory)
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .setFilterProvider(EmployeeFields.ALL.filters());
+    }
+
+    /**
+     * An {@link EmployeeServiceImpl} reading from {@code employees} and resolving departments
+     * through a {@link DepartmentCache} backed by {@link StubDepartmentClient}.
+     */
+    static EmployeeServiceImpl employeeService(List<Employee> employees) {
+        PaginationProperties paginationProperties = new PaginationProperties();
+        paginationProperties.setMaxPageSize(Integer.MAX_VALUE);
+        return employeeService()
+                .employeeRepository(employeeRepository(employees))
+                .paginationProperties(paginationProperties)
+                .build();
+    }
+
+    static EmployeeServiceBuilder employeeService() {
+        return new EmployeeServiceBuilder();
+    }
+
+    static DepartmentCache departmentCache(DepartmentClient departmentClient) {
+        return new DepartmentCache(
+                departmentClient,
+                new DepartmentBatchLoader(departmentClient, new DepartmentClientProperties()),
+                new DepartmentReadModel(),
+                new DepartmentCacheProperties(),
+                new SimpleMeterRegistry());
+    }
+
+    /**
+     * A stub of {@code type} failing on every call with the name of the method, for collaborators
+     * a benchmark is not expected to reach.
+     */
+    static <T> T unsupported(Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(
+                type.getClassLoader(),
+                new Class<?>[]{type},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "toString" -> "unsupported " + type.getSimpleName();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(
+                            type.getSimpleName() + "." + method.getName() + " is not stubbed in this benchmark");
+                }));
+    }
+
+    private static EmployeeRepository employeeRepository(List<Employee> employees) {
+        EmployeeMapper mapper = employeeMapper();
+        return (EmployeeRepository) Proxy.newProxyInstance(
+                EmployeeRepository.class.getClassLoader(),
+                new Class<?>[]{EmployeeRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    // projections return fresh DTOs on every call, as the database would
+                    case "findResponseById" -> employees.stream()
+                            .filter(employee -> employee.getId().equals(args[0]))
+                            .findFirst()
+                            .map(mapper::toResponseDto);
+                    case "findResponsesOrderByIdAsc" -> employees.stream()
+                            .map(mapper::toResponseDto)
+                            .toList();
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * Wires an {@link EmployeeServiceImpl} the way the application context would, with every
+     * collaborator defaulting to a working in-memory one or to an {@link #unsupported} stub, never
+     * to {@code null}. A benchmark overrides only what it exercises.
+     */
+    static final class EmployeeServiceBuilder {
+
+        private EmployeeRepository employeeRepository = unsupported(EmployeeRepository.class);
+        private EmployeeMapper employeeMapper = employeeMapper();
+        private DepartmentCache departmentCache = departmentCache(new StubDepartmentClient());
+        private PaginationProperties paginationProperties = new PaginationProperties();
+        private EmployeeSearch employeeSearch = unsupported(EmployeeSearch.class);
+        private SearchProperties searchProperties = new SearchProperties();
+        private BulkImportProperties bulkImportProperties = new BulkImportProperties();
+        private EntityManager entityManager = unsupported(EntityManager.class);
+        private Validator validator = unsupported(Validator.class);
+        private DepartmentSalarySummaries salarySummaries = new DepartmentSalarySummaries(
+                unsupported(DepartmentSalarySummaryRepository.class), unsupported(EntityManager.class));
+
+        private EmployeeServiceBuilder() {
+        }
+
+        EmployeeServiceBuilder employeeRepository(EmployeeRepository employeeRepository) {
+            this.employeeRepository = employeeRepository;
+            return this;
+        }
+
+        EmployeeServiceBuilder departmentCache(DepartmentCache departmentCache) {
+            this.departmentCache = departmentCache;
+            return this;
+        }
+
+        EmployeeServiceBuilder paginationProperties(PaginationProperties paginationProperties) {
+            this.paginationProperties = paginationProperties;
+            return this;
+        }
+
+        EmployeeServiceBuilder employeeSearch(EmployeeSearch employeeSearch) {
+            this.employeeSearch = employeeSearch;
+            return this;
+        }
+
+        EmployeeServiceBuilder entityManager(EntityManager entityManager) {
+            this.entityManager = entityManager;
+            return this;
+        }
+
+        EmployeeServiceBuilder validator(Validator validator) {
+            this.validator = validator;
+            return this;
+        }
+
+        EmployeeServiceBuilder salarySummaries(DepartmentSalarySummaries salarySummaries) {
+            this.salarySummaries = salarySummaries;
+            return this;
+        }
+
+        EmployeeServiceImpl build() {
+            return new EmployeeServiceImpl(
+                    employeeRepository,
+                    employeeMapper,
+                    departmentCache,
+                    paginationProperties,
+                    employeeSearch,
+                    searchProperties,
+                    bulkImportProperties,
+                    entityManager,
+                    validator,
+                    salarySummaries);
+        }
+    }
+
+    static final class StubDepartmentClient implements DepartmentClient {
+
+        @Override
+        public DepartmentDto getDepartmentById(Long id) {
+            return new DepartmentDto(id, "Department " + id, 0L);
+        }
+
+        @Override
+        public CursorPageResponseDto<DepartmentDto> getDepartments(String cursor, int size) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<DepartmentDto> getDepartmentsByIds(Collection<Long> ids) {
+            return ids.stream().map(this::getDepartmentById).toList();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.wassefchargui.employee_service.benchmark;
+
+import com.wassefchargui.employee_service.EmployeeServiceApplication;
+import com.wassefchargui.employee_service.dto.BulkImportResponseDto;
+import com.wassefchargui.employee_service.dto.DepartmentDto;
+import com.wassefchargui.employee_service.dto.EmployeeRequestDto;
+import com.wassefchargui.employee_service.readmodel.DepartmentReadModel;
+import com.wassefchargui.employee_service.repository.DepartmentSalarySummaryRepository;
+import com.wassefchargui.employee_service.repository.EmployeeRepository;
+import com.wassefchargui.employee_service.service.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Inserting {@code size} employees through the service against the in-memory database of the
+ * {@code loadtest} profile: one bulk import versus one create per employee. Next to the score,
+ * reports {@code rows}: the employees inserted per second, which is what the two paths are
+ * compared on. Departments are served by the seeded read model, so no remote call is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeImportBenchmark {
+
+    @Param({"100", "1000"})
+    private int size;
+
+    private final AtomicLong nextEmployee = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService service;
+    private EmployeeRepository employeeRepository;
+    private DepartmentSalarySummaryRepository summaryRepository;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(EmployeeServiceApplication.class)
+                .profiles("loadtest")
+                .web(WebApplicationType.NONE)
+                .properties("management.tracing.enabled=false")
+                .run();
+        service = context.getBean(EmployeeService.class);
+        employeeRepository = context.getBean(EmployeeRepository.class);
+        summaryRepository = context.getBean(DepartmentSalarySummaryRepository.class);
+
+        DepartmentReadModel readModel = context.getBean(DepartmentReadModel.class);
+        readModel.beginResync();
+        readModel.completeResync(LongStream.rangeClosed(1, BenchmarkFixtures.DEPARTMENT_COUNT)
+                .mapToObj(id -> new DepartmentDto(id, "Department " + id, 0L))
+                .collect(Collectors.toMap(DepartmentDto::getId, Function.identity())));
+    }
+
+    /**
+     * Starts every iteration from an empty table, so that both paths insert into the same amount
+     * of data.
+     */
+    @TearDown(Level.Iteration)
+    public void clear() {
+        employeeRepository.deleteAllInBatch();
+        summaryRepository.deleteAllInBatch();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BulkImportResponseDto bulk(Rows rows) {
+        BulkImportResponseDto response = service.importEmployees(requests());
+        rows.rows += response.getImported();
+        return response;
+    }
+
+    @Benchmark
+    public void singleRow(Rows rows, Blackhole blackhole) {
+        for (EmployeeRequestDto request : requests()) {
+            blackhole.consume(service.createEmployee(request));
+            rows.rows++;
+        }
+    }
+
+    private List<EmployeeRequestDto> requests() {
+        long first = nextEmployee.getAndAdd(size);
+        return LongStream.range(first, first + size)
+                .mapToObj(id -> EmployeeRequestDto.builder()
+                        .firstName("First" + id)
+                        .lastName("Last" + id)
+                        .email("employee" + id + "@company.com")
+                        .position("Software Engineer")
+                        .salary(50_000.0 + id)
+                        .hireDate(LocalDate.of(2024, 1, 15))
+                        .departmentId(id % BenchmarkFixtures.DEPARTMENT_COUNT + 1)
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Counts the employees inserted by this thread.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Rows {
+
+        public long rows;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rows = 0;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.wassefchargui.employee_service.benchmark;
+
+import com.wassefchargui.employee_service.dto.EmployeeRequestDto;
+import com.wassefchargui.employee_service.dto.EmployeeResponseDto;
+import com.wassefchargui.employee_service.entity.Employee;
+import com.wassefchargui.employee_service.mapper.EmployeeMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeMapperBenchmark {
+
+    private EmployeeMapper mapper;
+    private Employee employee;
+    private EmployeeRequestDto requestDto;
+
+    @Setup
+    public void setUp() {
+        mapper = BenchmarkFixtures.employeeMapper();
+        employee = BenchmarkFixtures.employees(1).get(0);
+        requestDto = EmployeeRequestDto.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("john.doe@company.com")
+                .position("Software Engineer")
+                .salary(75_000.0)
+                .hireDate(LocalDate.of(2024, 1, 15))
+                .departmentId(1L)
+                .build();
+    }
+
+    @Benchmark
+    public EmployeeResponseDto toResponseDto() {
+        return mapper.toResponseDto(employee);
+    }
+
+    @Benchmark
+    public Employee toEntity() {
+        return mapper.toEntity(requestDto);
+    }
+
+    @Benchmark
+    public Employee updateEntityFromDto() {
+        Employee target = new Employee();
+        mapper.updateEntityFromDto(requestDto, target);
+        return target;
+    }
+}
@@ -0,0 +1,83 @@
+package com.wassefchargui.employee_service.benchmark;
+
+import com.wassefchargui.employee_service.EmployeeServiceApplication;
+import com.wassefchargui.employee_service.dto.EmployeeResponseDto;
+import com.wassefchargui.employee_service.entity.Employee;
+import com.wassefchargui.employee_service.mapper.EmployeeMapper;
+import com.wassefchargui.employee_service.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading a list of employees as {@link EmployeeResponseDto}s against the in-memory database of
+ * the {@code loadtest} profile: loading managed entities and mapping them, as the read endpoints
+ * used to, versus the repository's constructor projections. Both run in a read-only transaction
+ * like the service methods. Compare {@code gc.alloc.rate.norm}, the bytes allocated per list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeProjectionBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeRepository repository;
+    private EmployeeMapper mapper;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(EmployeeServiceApplication.class)
+                .profiles("loadtest")
+                .web(WebApplicationType.NONE)
+                .properties("management.tracing.enabled=false")
+                .run();
+        repository = context.getBean(EmployeeRepository.class);
+        mapper = context.getBean(EmployeeMapper.class);
+        entityManager = context.getBean(EntityManager.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+
+        List<Employee> employees = BenchmarkFixtures.employees(size).stream()
+                .peek(employee -> employee.setId(null))
+                .toList();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> repository.saveAll(employees));
+
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<EmployeeResponseDto> entities() {
+        return readOnly.execute(status -> entityManager
+                .createQuery("select e from Employee e order by e.id", Employee.class)
+                .setMaxResults(size)
+                .getResultList().stream()
+                .map(mapper::toResponseDto)
+                .toList());
+    }
+
+    @Benchmark
+    public List<EmployeeResponseDto> projection() {
+        return readOnly.execute(status -> repository.findResponsesOrderByIdAsc(Limit.of(size)));
+    }
+}
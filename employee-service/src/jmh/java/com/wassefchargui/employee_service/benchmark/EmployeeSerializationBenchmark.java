@@ -0,0 +1,44 @@
+package com.wassefchargui.employee_service.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.wassefchargui.employee_service.dto.DepartmentDto;
+import com.wassefchargui.employee_service.dto.EmployeeResponseDto;
+import com.wassefchargui.employee_service.mapper.EmployeeMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private ObjectWriter writer;
+    private List<EmployeeResponseDto> employees;
+
+    @Setup
+    public void setUp() {
+        writer = BenchmarkFixtures.objectMapper().writer();
+        EmployeeMapper mapper = BenchmarkFixtures.employeeMapper();
+        employees = BenchmarkFixtures.employees(size).stream()
+                .map(employee -> {
+                    EmployeeResponseDto responseDto = mapper.toResponseDto(employee);
+                    responseDto.setDepartment(new DepartmentDto(employee.getDepartmentId(), "Department " + employee.getDepartmentId(), 0L));
+                    return responseDto;
+                })
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws JsonProcessingException {
+        return writer.writeValueAsBytes(employees);
+    }
+}
@@ -0,0 +1,42 @@
+package com.wassefchargui.employee_service.benchmark;
+
+import com.wassefchargui.employee_service.dto.CursorPageResponseDto;
+import com.wassefchargui.employee_service.dto.EmployeeResponseDto;
+import com.wassefchargui.employee_service.fieldset.EmployeeFields;
+import com.wassefchargui.employee_service.service.impl.EmployeeServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response building in {@link EmployeeServiceImpl} with departments served from a warm cache, i.e.
+ * the steady state of a production instance.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeServiceBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private EmployeeServiceImpl employeeService;
+
+    @Setup
+    public void setUp() {
+        employeeService = BenchmarkFixtures.employeeService(BenchmarkFixtures.employees(size));
+    }
+
+    @Benchmark
+    public EmployeeResponseDto getEmployeeById() {
+        return employeeService.getEmployeeById(1L, EmployeeFields.ALL);
+    }
+
+    @Benchmark
+    public CursorPageResponseDto<EmployeeResponseDto> getAllEmployees() {
+        return employeeService.getAllEmployees(null, size, "id", EmployeeFields.ALL);
+    }
+}
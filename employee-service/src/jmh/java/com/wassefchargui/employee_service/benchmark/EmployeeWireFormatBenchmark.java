@@ -0,0 +1,106 @@
+package com.wassefchargui.employee_service.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.wassefchargui.employee_service.dto.DepartmentDto;
+import com.wassefchargui.employee_service.dto.EmployeeResponseDto;
+import com.wassefchargui.employee_service.mapper.EmployeeMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A page of employees in each media type the service offers. Next to the score, reports
+ * {@code bytes}: the bytes written per second. Divided by the score it gives the size of one
+ * response on the wire, uncompressed for {@code serialize} and gzipped (as the gateway sends it to
+ * clients accepting gzip) for {@code serializeGzipped}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeWireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"100", "1000"})
+    private int size;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private List<EmployeeResponseDto> employees;
+    private byte[] serialized;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = BenchmarkFixtures.objectMapper(factory(format));
+        writer = objectMapper.writer();
+        reader = objectMapper.readerForListOf(EmployeeResponseDto.class);
+        EmployeeMapper mapper = BenchmarkFixtures.employeeMapper();
+        employees = BenchmarkFixtures.employees(size).stream()
+                .map(employee -> {
+                    EmployeeResponseDto responseDto = mapper.toResponseDto(employee);
+                    responseDto.setDepartment(new DepartmentDto(employee.getDepartmentId(), "Department " + employee.getDepartmentId(), 0L));
+                    return responseDto;
+                })
+                .toList();
+        serialized = writer.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public byte[] serialize(Wire wire) throws IOException {
+        byte[] body = writer.writeValueAsBytes(employees);
+        wire.bytes += body.length;
+        return body;
+    }
+
+    @Benchmark
+    public byte[] serializeGzipped(Wire wire) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(body)) {
+            writer.writeValue(gzip, employees);
+        }
+        wire.bytes += body.size();
+        return body.toByteArray();
+    }
+
+    @Benchmark
+    public List<EmployeeResponseDto> deserialize() throws IOException {
+        return reader.readValue(serialized);
+    }
+
+    private static JsonFactory factory(String format) {
+        return switch (format) {
+            case "json" -> new JsonFactory();
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+    }
+
+    /**
+     * Counts the bytes written by this thread's serializations.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Wire {
+
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.wassefchargui.employee_service.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.wassefchargui.employee_service.exception.EmployeeNotFoundException;
+import com.wassefchargui.employee_service.exception.GlobalExceptionHandler;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning an exception into a rendered error body. Exception construction is included on
+ * purpose: filling in the stack trace is usually the dominant cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GlobalExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private ObjectWriter writer;
+
+    @Setup
+    public void setUp() {
+        handler = new GlobalExceptionHandler();
+        writer = BenchmarkFixtures.objectMapper().writer();
+    }
+
+    @Benchmark
+    public byte[] employeeNotFound() throws JsonProcessingException {
+        return writer.writeValueAsBytes(handler.handleEmployeeNotFoundException(new EmployeeNotFoundException(42L)).getBody());
+    }
+
+    @Benchmark
+    public byte[] unexpectedError() throws JsonProcessingException {
+        return writer.writeValueAsBytes(handler.handleGenericException(new IllegalStateException("boom")).getBody());
+    }
+}
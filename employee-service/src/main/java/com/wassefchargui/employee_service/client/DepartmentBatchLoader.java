@@ -0,0 +1,151 @@
+package com.wassefchargui.employee_service.client;
+
+import com.wassefchargui.employee_service.config.client.DepartmentClientProperties;
+import com.wassefchargui.employee_service.dto.DepartmentDto;
+import com.wassefchargui.employee_service.exception.DepartmentServiceException;
+import feign.FeignException;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Splits department lookups into batches and runs them concurrently on virtual threads, with a
+ * global cap on in-flight calls and one deadline for all batches of a lookup. Ids missing from a
+ * successful batch are returned as {@link Optional#empty()}.
+ *
+ * <p>Once the deadline has passed, batches still waiting for a slot give up without calling the
+ * Department Service and running ones are cancelled (interrupting a virtual thread blocked on a
+ * socket closes it), so a lookup the caller has abandoned does not keep holding slots.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(DepartmentClientProperties.class)
+public class DepartmentBatchLoader implements DisposableBean {
+
+    private final DepartmentClient departmentClient;
+    private final DepartmentClientProperties properties;
+    private final Semaphore permits;
+    // carries the caller's trace context, so batch calls show up as children of the request span
+    private final ExecutorService executor = ContextExecutorService.wrap(
+            Executors.newVirtualThreadPerTaskExecutor(), ContextSnapshotFactory.builder().build());
+
+    public DepartmentBatchLoader(DepartmentClient departmentClient, DepartmentClientProperties properties) {
+        this.departmentClient = departmentClient;
+        this.properties = properties;
+        this.permits = new Semaphore(properties.getMaxConcurrency());
+    }
+
+    /**
+     * Loads every id or fails: a Feign error is rethrown as is, a timeout becomes a
+     * {@link DepartmentServiceException}.
+     */
+    public Map<Long, Optional<DepartmentDto>> loadAll(Set<? extends Long> ids) {
+        long deadline = System.nanoTime() + properties.getTimeout().toNanos();
+        List<Future<Map<Long, Optional<DepartmentDto>>>> batches = submitBatches(ids, deadline);
+        Map<Long, Optional<DepartmentDto>> loaded = new HashMap<>();
+        try {
+            for (Future<Map<Long, Optional<DepartmentDto>>> batch : batches) {
+                loaded.putAll(await(batch, deadline));
+            }
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof FeignException feignException) {
+                throw feignException;
+            }
+            throw new DepartmentServiceException("Unable to load departments. Please try again later.", ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new DepartmentServiceException("Unable to load departments. Please try again later.", ex);
+        } finally {
+            cancel(batches);
+        }
+        return loaded;
+    }
+
+    /**
+     * Loads what can be loaded in time. Batches that fail or time out are left out of the result.
+     */
+    public Map<Long, Optional<DepartmentDto>> loadAvailable(Set<Long> ids) {
+        long deadline = System.nanoTime() + properties.getTimeout().toNanos();
+        List<Future<Map<Long, Optional<DepartmentDto>>>> batches = submitBatches(ids, deadline);
+        Map<Long, Optional<DepartmentDto>> loaded = new HashMap<>();
+        try {
+            for (Future<Map<Long, Optional<DepartmentDto>>> batch : batches) {
+                try {
+                    loaded.putAll(await(batch, deadline));
+                } catch (ExecutionException ex) {
+                    log.warn("Skipping department information for a batch: {}", ex.getCause().toString());
+                } catch (TimeoutException ex) {
+                    log.warn("Skipping department information for a batch: {}", ex.toString());
+                }
+            }
+        } finally {
+            cancel(batches);
+        }
+        return loaded;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private List<Future<Map<Long, Optional<DepartmentDto>>>> submitBatches(Set<? extends Long> ids, long deadline) {
+        List<Long> orderedIds = List.copyOf(ids);
+        List<Future<Map<Long, Optional<DepartmentDto>>>> batches = new ArrayList<>();
+        for (int from = 0; from < orderedIds.size(); from += properties.getBatchSize()) {
+            List<Long> batch = orderedIds.subList(from, Math.min(from + properties.getBatchSize(), orderedIds.size()));
+            batches.add(executor.submit(() -> loadBatch(batch, deadline)));
+        }
+        return batches;
+    }
+
+    private static Map<Long, Optional<DepartmentDto>> await(Future<Map<Long, Optional<DepartmentDto>>> batch,
+                                                            long deadline)
+            throws ExecutionException, TimeoutException {
+        try {
+            return batch.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new DepartmentServiceException("Interrupted while loading departments", ex);
+        }
+    }
+
+    /**
+     * Stops whatever is left of a lookup; a no-op for batches that have completed.
+     */
+    private static void cancel(List<Future<Map<Long, Optional<DepartmentDto>>>> batches) {
+        batches.forEach(batch -> batch.cancel(true));
+    }
+
+    private Map<Long, Optional<DepartmentDto>> loadBatch(List<Long> ids, long deadline)
+            throws InterruptedException, TimeoutException {
+        if (!permits.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+            throw new TimeoutException("No free slot for a department batch before the deadline");
+        }
+        try {
+            Map<Long, Optional<DepartmentDto>> loaded = new HashMap<>();
+            ids.forEach(id -> loaded.put(id, Optional.empty()));
+            departmentClient.getDepartmentsByIds(ids)
+                    .forEach(department -> loaded.put(department.getId(), Optional.of(department)));
+            return loaded;
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.wassefchargui.employee_service.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.wassefchargui.employee_service.config.cache.DepartmentCacheProperties;
+import com.wassefchargui.employee_service.dto.DepartmentDto;
+import com.wassefchargui.employee_service.readmodel.DepartmentReadModel;
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded, expiring in-process cache in front of {@link DepartmentClient}.
+ *
+ * <p>Once the event-fed {@link DepartmentReadModel} is ready it answers first: enrichment then
+ * never leaves the process, and validation only calls out for ids the replica does not know yet
+ * (e.g. a department created a few milliseconds ago).
+ *
+ * <p>Departments that do not exist are cached as {@link Optional#empty()} with a shorter time to
+ * live, so repeated lookups of an unknown id do not hit the Department Service either. Errors other
+ * than 404 are never cached and propagate to the caller.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(DepartmentCacheProperties.class)
+public class DepartmentCache {
+
+    public static final String CACHE_NAME = "departments";
+
+    private final DepartmentClient departmentClient;
+    private final DepartmentBatchLoader batchLoader;
+    private final DepartmentReadModel readModel;
+    private final Cache<Long, Optional<DepartmentDto>> cache;
+
+    public DepartmentCache(DepartmentClient departmentClient,
+                           DepartmentBatchLoader batchLoader,
+                           DepartmentReadModel readModel,
+                           DepartmentCacheProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.departmentClient = departmentClient;
+        this.batchLoader = batchLoader;
+        this.readModel = readModel;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new FoundOrNotFoundExpiry(
+                        properties.getTimeToLive().toNanos(),
+                        properties.getNotFoundTimeToLive().toNanos()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Optional<DepartmentDto> getDepartmentById(Long id) {
+        if (readModel.isReady()) {
+            Optional<DepartmentDto> replicated = readModel.find(id);
+            if (replicated.isPresent()) {
+                return replicated;
+            }
+        }
+        return cache.get(id, this::load);
+    }
+
+    /**
+     * Resolves every id, failing if the Department Service cannot answer. Use for validation.
+     */
+    public Map<Long, DepartmentDto> getDepartmentsByIds(Set<Long> ids) {
+        if (!readModel.isReady()) {
+            return present(cache.getAll(ids, batchLoader::loadAll));
+        }
+
+        Map<Long, DepartmentDto> departments = new HashMap<>();
+        Set<Long> unknown = new HashSet<>();
+        ids.forEach(id -> readModel.find(id).ifPresentOrElse(
+                department -> departments.put(id, department),
+                () -> unknown.add(id)));
+        if (!unknown.isEmpty()) {
+            departments.putAll(present(cache.getAll(unknown, batchLoader::loadAll)));
+        }
+        return departments;
+    }
+
+    /**
+     * Best-effort variant for enrichment: ids that cannot be resolved in time are simply absent
+     * from the result and are not cached.
+     */
+    public Map<Long, DepartmentDto> findDepartmentsByIds(Set<Long> ids) {
+        if (readModel.isReady()) {
+            Map<Long, DepartmentDto> departments = new HashMap<>();
+            ids.forEach(id -> readModel.find(id).ifPresent(department -> departments.put(id, department)));
+            return departments;
+        }
+
+        Map<Long, Optional<DepartmentDto>> entries = new HashMap<>(cache.getAllPresent(ids));
+        Set<Long> missing = ids.stream()
+                .filter(id -> !entries.containsKey(id))
+                .collect(Collectors.toSet());
+        if (!missing.isEmpty()) {
+            Map<Long, Optional<DepartmentDto>> loaded = batchLoader.loadAvailable(missing);
+            cache.putAll(loaded);
+            entries.putAll(loaded);
+        }
+        return present(entries);
+    }
+
+    public void evict(Long id) {
+        log.info("Evicting department {} from cache", id);
+        cache.invalidate(id);
+    }
+
+    public void evictAll() {
+        log.info("Evicting all departments from cache");
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private Optional<DepartmentDto> load(Long id) {
+        try {
+            return Optional.ofNullable(departmentClient.getDepartmentById(id));
+        } catch (FeignException.NotFound ex) {
+            return Optional.empty();
+        }
+    }
+
+    private static Map<Long, DepartmentDto> present(Map<Long, Optional<DepartmentDto>> entries) {
+        Map<Long, DepartmentDto> departments = new HashMap<>();
+        entries.forEach((id, department) -> department.ifPresent(value -> departments.put(id, value)));
+        return departments;
+    }
+
+    private record FoundOrNotFoundExpiry(long foundTtlNanos, long notFoundTtlNanos)
+            implements Expiry<Long, Optional<DepartmentDto>> {
+
+        @Override
+        public long expireAfterCreate(Long key, Optional<DepartmentDto> value, long currentTime) {
+            return value.isPresent() ? foundTtlNanos : notFoundTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Long key, Optional<DepartmentDto> value, long currentTime,
+                                      long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long key, Optional<DepartmentDto> value, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
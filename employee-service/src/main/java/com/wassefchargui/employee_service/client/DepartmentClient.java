@@ -1,13 +1,25 @@
 package com.wassefchargui.employee_service.client;
 
+import com.wassefchargui.employee_service.dto.CursorPageResponseDto;
 import com.wassefchargui.employee_service.dto.DepartmentDto;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.Collection;
+import java.util.List;
 
 @FeignClient(name = "department-service", url = "${department.service.url:http://localhost:8080}")
 public interface DepartmentClient {
 
     @GetMapping("/api/v1/departements/{id}")
     DepartmentDto getDepartmentById(@PathVariable Long id);
+
+    @GetMapping("/api/v1/departements")
+    CursorPageResponseDto<DepartmentDto> getDepartments(@RequestParam(value = "cursor", required = false) String cursor,
+                                                        @RequestParam("size") int size);
+
+    @GetMapping("/api/v1/departements/batch")
+    List<DepartmentDto> getDepartmentsByIds(@RequestParam("ids") Collection<Long> ids);
 }
@@ -0,0 +1,45 @@
+package com.wassefchargui.employee_service.config.cache;
+
+import com.wassefchargui.employee_service.client.DepartmentCache;
+import com.wassefchargui.employee_service.readmodel.DepartmentReadModel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator hooks to inspect and evict the local department cache, e.g. right after a department
+ * has been renamed or deleted. Hit ratio, load latency and evictions are published as
+ * {@code cache.*} metrics under {@code cache=departments}.
+ */
+@Component
+@Endpoint(id = "departmentcache")
+@RequiredArgsConstructor
+public class DepartmentCacheEndpoint {
+
+    private final DepartmentCache departmentCache;
+    private final DepartmentReadModel readModel;
+
+    @ReadOperation
+    public Map<String, Object> size() {
+        return Map.of(
+                "name", DepartmentCache.CACHE_NAME,
+                "size", departmentCache.size(),
+                "readModelReady", readModel.isReady(),
+                "readModelSize", readModel.size());
+    }
+
+    @DeleteOperation
+    public void evictAll() {
+        departmentCache.evictAll();
+    }
+
+    @DeleteOperation
+    public void evict(@Selector Long id) {
+        departmentCache.evict(id);
+    }
+}
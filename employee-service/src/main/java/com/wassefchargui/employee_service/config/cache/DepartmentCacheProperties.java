@@ -0,0 +1,30 @@
+package com.wassefchargui.employee_service.config.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.department-cache")
+public class DepartmentCacheProperties {
+
+    /**
+     * Maximum number of departments (found or not found) kept in memory. Once reached, the least
+     * valuable entries are evicted.
+     */
+    private long maximumSize = 1_000;
+
+    /**
+     * How long a department returned by the Department Service is served from the cache.
+     */
+    private Duration timeToLive = Duration.ofMinutes(10);
+
+    /**
+     * How long a 404 from the Department Service is remembered. Kept short so that a newly created
+     * department becomes visible quickly.
+     */
+    private Duration notFoundTimeToLive = Duration.ofSeconds(30);
+}
@@ -0,0 +1,31 @@
+package com.wassefchargui.employee_service.config.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.department-client")
+public class DepartmentClientProperties {
+
+    /**
+     * Maximum number of department ids sent in a single batched lookup.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Maximum number of batched lookups in flight against the Department Service, across all
+     * requests of this instance.
+     */
+    private int maxConcurrency = 8;
+
+    /**
+     * How long a department lookup may take, all of its batches and the wait for free slots
+     * included. When exceeded, batches not started yet are skipped, running ones are cancelled and
+     * list responses are returned without the department of the affected employees.
+     */
+    private Duration timeout = Duration.ofMillis(1500);
+}
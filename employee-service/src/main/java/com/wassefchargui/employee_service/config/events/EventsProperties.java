@@ -0,0 +1,39 @@
+package com.wassefchargui.employee_service.config.events;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.events")
+public class EventsProperties {
+
+    /**
+     * Whether the local department read model is fed from Kafka. When disabled, or until the
+     * first resync succeeds, department lookups go to the Department Service.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Topic the Department Service publishes department changes to.
+     */
+    private String departmentTopic = "department-events";
+
+    /**
+     * Page size used when pulling every department from the Department Service on startup.
+     */
+    private int resyncPageSize = 200;
+
+    /**
+     * Wait before retrying a startup resync that failed, doubled after every further failure.
+     */
+    private Duration resyncInitialBackoff = Duration.ofSeconds(1);
+
+    /**
+     * Upper bound of the wait between two resync attempts.
+     */
+    private Duration resyncMaxBackoff = Duration.ofMinutes(1);
+}
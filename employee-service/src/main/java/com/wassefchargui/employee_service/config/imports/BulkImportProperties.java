@@ -0,0 +1,18 @@
+package com.wassefchargui.employee_service.config.imports;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.bulk-import")
+public class BulkImportProperties {
+
+    /**
+     * Largest number of employees accepted by one bulk import. An import runs in a single
+     * transaction, so this bounds how long it holds its connection and row locks; larger imports
+     * are rejected with 413 and must be split by the client.
+     */
+    private int maxRows = 10_000;
+}
@@ -0,0 +1,42 @@
+package com.wassefchargui.employee_service.config.jackson;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.wassefchargui.employee_service.fieldset.EmployeeFields;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Writes every employee property unless a request selects fewer with {@code fields}, see
+     * {@link EmployeeFields}. Without a default the filtered DTOs could not be serialized at all.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer employeeFieldsFilter() {
+        return builder -> builder.filters(EmployeeFields.ALL.filters());
+    }
+
+    /**
+     * {@code application/cbor} for clients sending {@code Accept: application/cbor}. Replaces the
+     * converter Spring MVC registers on its own, whose mapper ignores the application's Jackson
+     * settings (and so the {@code fields} filter).
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * {@code application/x-jackson-smile}, configured like {@link #cborHttpMessageConverter}.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,72 @@
+package com.wassefchargui.employee_service.config.metrics;
+
+import feign.Capability;
+import feign.Client;
+import feign.MethodMetadata;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every call made by a Feign client, such as {@code DepartmentClient}, as
+ * {@code app.client.requests} tagged with the client, the {@code route} template, the HTTP
+ * {@code method}, the {@code status} and an {@code outcome} classified like the server timers.
+ * Calls that fail before a response arrives (timeouts, refused connections) have outcome
+ * {@code UNKNOWN} and status {@code IO_ERROR}.
+ */
+@Component
+@RequiredArgsConstructor
+public class FeignMetricsCapability implements Capability {
+
+    static final String CLIENT_TIMER = "app.client.requests";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String status = "IO_ERROR";
+            try {
+                Response response = client.execute(request, options);
+                status = Integer.toString(response.status());
+                return response;
+            } finally {
+                sample.stop(Timer.builder(CLIENT_TIMER)
+                        .description("Calls made by Feign clients")
+                        .tag("client", client(request))
+                        .tag("route", route(request))
+                        .tag("method", request.httpMethod().name())
+                        .tag("status", status)
+                        .tag("outcome", outcome(status))
+                        .register(meterRegistry));
+            }
+        };
+    }
+
+    private static String client(Request request) {
+        return request.requestTemplate().feignTarget() != null
+                ? request.requestTemplate().feignTarget().name()
+                : "unknown";
+    }
+
+    /** The unexpanded path, e.g. {@code /api/v1/departements/{id}}, to keep cardinality bounded. */
+    private static String route(Request request) {
+        MethodMetadata metadata = request.requestTemplate().methodMetadata();
+        return metadata != null ? metadata.template().path() : "UNKNOWN";
+    }
+
+    private static String outcome(String status) {
+        return switch (status.charAt(0)) {
+            case '1' -> "INFORMATIONAL";
+            case '2' -> "SUCCESS";
+            case '3' -> "REDIRECTION";
+            case '4' -> "CLIENT_ERROR";
+            case '5' -> "SERVER_ERROR";
+            default -> "UNKNOWN";
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package com.wassefchargui.employee_service.config.search;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.search")
+public class SearchProperties {
+
+    /**
+     * Search backend. {@code trigram} relies on PostgreSQL's pg_trgm extension and a GIN index and
+     * tolerates typos; {@code in_memory} ranks plain substring (LIKE) matches in the JVM, without
+     * typo tolerance, and is meant for databases without pg_trgm.
+     */
+    private Mode mode = Mode.TRIGRAM;
+
+    /**
+     * Number of results returned when the client does not ask for a limit.
+     */
+    private int defaultLimit = 20;
+
+    /**
+     * Upper bound for the limit a client may request. Larger values are capped silently.
+     */
+    private int maxLimit = 100;
+
+    /**
+     * Whether the pg_trgm extension and the name index are created on startup when missing.
+     * Disable when the schema is managed by a DBA.
+     */
+    private boolean createIndex = true;
+
+    public enum Mode {
+        TRIGRAM,
+        IN_MEMORY
+    }
+}
@@ -1,7 +1,14 @@
 package com.wassefchargui.employee_service.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.wassefchargui.employee_service.dto.BulkImportResponseDto;
+import com.wassefchargui.employee_service.dto.CursorPageResponseDto;
+import com.wassefchargui.employee_service.dto.DepartmentStatisticsDto;
 import com.wassefchargui.employee_service.dto.EmployeeRequestDto;
 import com.wassefchargui.employee_service.dto.EmployeeResponseDto;
+import com.wassefchargui.employee_service.dto.EmployeeSuggestionDto;
+import com.wassefchargui.employee_service.fieldset.EmployeeFields;
 import com.wassefchargui.employee_service.service.EmployeeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,10 +20,16 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -27,7 +40,12 @@ import java.util.List;
 @Tag(name = "Employee", description = "Employee management APIs with department integration")
 public class EmployeeController {
 
+    private static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    private static final String FIELDS_DESCRIPTION = "Comma-separated properties to return, all when omitted. "
+            + "The department is only fetched when 'department' is selected";
+
     private final EmployeeService employeeService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     @Operation(
@@ -47,62 +65,114 @@ public class EmployeeController {
             @Valid @RequestBody EmployeeRequestDto requestDto) {
         log.info("REST request to create employee: {}", requestDto.getEmail());
         EmployeeResponseDto responseDto = employeeService.createEmployee(requestDto);
-        return new ResponseEntity<>(responseDto, HttpStatus.CREATED);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(EntityTags.of(responseDto))
+                .body(responseDto);
+    }
+
+    @PostMapping("/bulk")
+    @Operation(
+        summary = "Import employees in bulk",
+        description = "Creates many employees in one request. Emails and departments are validated for the whole batch at once; invalid rows are reported individually and the remaining rows are inserted. "
+                + "At most 10000 employees per request by default (application.bulk-import.max-rows)."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Import processed, see the per-row errors",
+                content = @Content(schema = @Schema(implementation = BulkImportResponseDto.class))),
+        @ApiResponse(responseCode = "413", description = "More employees than one import accepts"),
+        @ApiResponse(responseCode = "503", description = "Department service unavailable")
+    })
+    public ResponseEntity<BulkImportResponseDto> importEmployees(
+            @Parameter(description = "Employees to create", required = true)
+            @RequestBody List<EmployeeRequestDto> requestDtos) {
+        log.info("REST request to import {} employees", requestDtos.size());
+        BulkImportResponseDto responseDto = employeeService.importEmployees(requestDtos);
+        return ResponseEntity.ok(responseDto);
     }
 
     @GetMapping("/{id}")
     @Operation(
         summary = "Get employee by ID",
-        description = "Retrieves an employee by their unique identifier, including their department information"
+        description = "Retrieves an employee by their unique identifier, including their department information. "
+                + "The response carries an ETag; sending it back in If-None-Match returns 304 without loading the employee."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Employee found",
                 content = @Content(schema = @Schema(implementation = EmployeeResponseDto.class))),
+        @ApiResponse(responseCode = "304", description = "Employee and department unchanged since the given ETag"),
         @ApiResponse(responseCode = "404", description = "Employee not found")
     })
     public ResponseEntity<EmployeeResponseDto> getEmployeeById(
             @Parameter(description = "Employee ID", required = true, example = "1")
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            @Parameter(description = FIELDS_DESCRIPTION, example = "id,firstName,lastName,email")
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
         log.info("REST request to get employee by id: {}", id);
-        EmployeeResponseDto responseDto = employeeService.getEmployeeById(id);
-        return ResponseEntity.ok(responseDto);
+        EmployeeFields selected = EmployeeFields.parse(fields);
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && webRequest.checkNotModified(EntityTags.of(employeeService.getEmployeeVersion(id),
+                        selected.includesDepartment()))) {
+            return null;
+        }
+        EmployeeResponseDto responseDto = employeeService.getEmployeeById(id, selected);
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(responseDto))
+                .body(responseDto);
     }
 
     @GetMapping
     @Operation(
         summary = "Get all employees",
-        description = "Retrieves a list of all employees in the system with their department information"
+        description = "Retrieves one page of employees with their department information. Pass the returned nextCursor to fetch the following page."
     )
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "List of employees retrieved successfully")
+        @ApiResponse(responseCode = "200", description = "Page of employees retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor, page size, sort or fields")
     })
-    public ResponseEntity<List<EmployeeResponseDto>> getAllEmployees() {
-        log.info("REST request to get all employees");
-        List<EmployeeResponseDto> employees = employeeService.getAllEmployees();
-        return ResponseEntity.ok(employees);
+    public ResponseEntity<CursorPageResponseDto<EmployeeResponseDto>> getAllEmployees(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped by the configured maximum", example = "20")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Sort key: id or lastName", example = "id")
+            @RequestParam(defaultValue = "id") String sort,
+            @Parameter(description = FIELDS_DESCRIPTION, example = "id,firstName,lastName,email")
+            @RequestParam(required = false) String fields) {
+        log.info("REST request to get employees page, sort: {}, size: {}", sort, size);
+        CursorPageResponseDto<EmployeeResponseDto> page = employeeService.getAllEmployees(cursor, size, sort,
+                EmployeeFields.parse(fields));
+        return ResponseEntity.ok(page);
     }
 
     @PutMapping("/{id}")
     @Operation(
         summary = "Update an employee",
-        description = "Updates an existing employee with new information. Email must be unique and department must exist."
+        description = "Updates an existing employee with new information. Email must be unique and department must exist. "
+                + "With If-Match, the update only applies if the employee is still at that ETag."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Employee updated successfully",
                 content = @Content(schema = @Schema(implementation = EmployeeResponseDto.class))),
         @ApiResponse(responseCode = "400", description = "Invalid input data"),
         @ApiResponse(responseCode = "404", description = "Employee or department not found"),
-        @ApiResponse(responseCode = "409", description = "Employee with this email already exists"),
+        @ApiResponse(responseCode = "409", description = "Employee with this email already exists or was modified concurrently"),
+        @ApiResponse(responseCode = "412", description = "Employee no longer matches the If-Match ETag"),
         @ApiResponse(responseCode = "503", description = "Department service unavailable")
     })
     public ResponseEntity<EmployeeResponseDto> updateEmployee(
             @Parameter(description = "Employee ID", required = true, example = "1")
             @PathVariable Long id,
+            @Parameter(description = "ETag of the version being edited", example = "\"3.1\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Parameter(description = "Updated employee information", required = true)
             @Valid @RequestBody EmployeeRequestDto requestDto) {
         log.info("REST request to update employee with id: {}", id);
-        EmployeeResponseDto responseDto = employeeService.updateEmployee(id, requestDto);
-        return ResponseEntity.ok(responseDto);
+        EmployeeResponseDto responseDto = employeeService.updateEmployee(
+                id, requestDto, EntityTags.expectedVersion(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(responseDto))
+                .body(responseDto);
     }
 
     @DeleteMapping("/{id}")
@@ -134,12 +204,50 @@ public class EmployeeController {
     })
     public ResponseEntity<List<EmployeeResponseDto>> getEmployeesByDepartmentId(
             @Parameter(description = "Department ID", required = true, example = "1")
-            @PathVariable Long departmentId) {
+            @PathVariable Long departmentId,
+            @Parameter(description = FIELDS_DESCRIPTION, example = "id,firstName,lastName,email")
+            @RequestParam(required = false) String fields) {
         log.info("REST request to get employees by department id: {}", departmentId);
-        List<EmployeeResponseDto> employees = employeeService.getEmployeesByDepartmentId(departmentId);
+        List<EmployeeResponseDto> employees = employeeService.getEmployeesByDepartmentId(departmentId,
+                EmployeeFields.parse(fields));
         return ResponseEntity.ok(employees);
     }
 
+    @GetMapping("/statistics/departments")
+    @Operation(
+        summary = "Get department statistics",
+        description = "Headcount and salary min/average/max of every department with employees, read from "
+                + "maintained summaries. Salary percentiles are computed on request and cost a pass over the employees."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statistics of every department with employees")
+    })
+    public ResponseEntity<List<DepartmentStatisticsDto>> getDepartmentStatistics(
+            @Parameter(description = "Whether to include salary percentiles", example = "false")
+            @RequestParam(defaultValue = "false") boolean percentiles) {
+        log.info("REST request to get statistics of all departments");
+        List<DepartmentStatisticsDto> statistics = employeeService.getDepartmentStatistics(percentiles);
+        return ResponseEntity.ok(statistics);
+    }
+
+    @GetMapping("/statistics/departments/{departmentId}")
+    @Operation(
+        summary = "Get statistics of a department",
+        description = "Headcount and salary statistics of one department; a department without employees has a headcount of 0"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statistics of the department")
+    })
+    public ResponseEntity<DepartmentStatisticsDto> getDepartmentStatisticsById(
+            @Parameter(description = "Department ID", required = true, example = "1")
+            @PathVariable Long departmentId,
+            @Parameter(description = "Whether to include salary percentiles", example = "false")
+            @RequestParam(defaultValue = "false") boolean percentiles) {
+        log.info("REST request to get statistics of department id: {}", departmentId);
+        DepartmentStatisticsDto statistics = employeeService.getDepartmentStatistics(departmentId, percentiles);
+        return ResponseEntity.ok(statistics);
+    }
+
     @GetMapping("/search")
     @Operation(
         summary = "Search employees by name",
@@ -150,12 +258,78 @@ public class EmployeeController {
     })
     public ResponseEntity<List<EmployeeResponseDto>> searchEmployeesByName(
             @Parameter(description = "Name to search for (first or last name)", required = true, example = "John")
-            @RequestParam String name) {
+            @RequestParam String name,
+            @Parameter(description = FIELDS_DESCRIPTION, example = "id,firstName,lastName,email")
+            @RequestParam(required = false) String fields) {
         log.info("REST request to search employees by name: {}", name);
-        List<EmployeeResponseDto> employees = employeeService.searchEmployeesByName(name);
+        List<EmployeeResponseDto> employees = employeeService.searchEmployeesByName(name, EmployeeFields.parse(fields));
+        return ResponseEntity.ok(employees);
+    }
+
+    @GetMapping("/search/ranked")
+    @Operation(
+        summary = "Fuzzy search employees by name",
+        description = "Typo-tolerant search on the full name, most relevant first. Backed by a trigram index."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "List of matching employees, most relevant first"),
+        @ApiResponse(responseCode = "400", description = "Invalid limit or fields")
+    })
+    public ResponseEntity<List<EmployeeResponseDto>> searchEmployeesRanked(
+            @Parameter(description = "Text to search for in first and last name", required = true, example = "jon do")
+            @RequestParam String q,
+            @Parameter(description = "Maximum number of results, capped by the configured maximum", example = "20")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = FIELDS_DESCRIPTION, example = "id,firstName,lastName,email")
+            @RequestParam(required = false) String fields) {
+        log.info("REST request for ranked employee search: {}", q);
+        List<EmployeeResponseDto> employees = employeeService.searchEmployeesRanked(q, limit, EmployeeFields.parse(fields));
         return ResponseEntity.ok(employees);
     }
 
+    @GetMapping("/search/autocomplete")
+    @Operation(
+        summary = "Autocomplete employee names",
+        description = "Returns employees whose first or last name starts with the given prefix, without department information"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "List of suggestions"),
+        @ApiResponse(responseCode = "400", description = "Invalid limit")
+    })
+    public ResponseEntity<List<EmployeeSuggestionDto>> autocompleteEmployees(
+            @Parameter(description = "Beginning of a first or last name", required = true, example = "Jo")
+            @RequestParam String prefix,
+            @Parameter(description = "Maximum number of results, capped by the configured maximum", example = "10")
+            @RequestParam(required = false) Integer limit) {
+        log.info("REST request for employee autocomplete: {}", prefix);
+        List<EmployeeSuggestionDto> suggestions = employeeService.autocompleteEmployees(prefix, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+
+    @GetMapping(value = "/export", produces = NDJSON_MEDIA_TYPE)
+    @Operation(
+        summary = "Export all employees",
+        description = "Streams every employee with their department information as newline-delimited JSON, one employee per line"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Employees streamed successfully")
+    })
+    public ResponseEntity<StreamingResponseBody> exportEmployees() {
+        log.info("REST request to export all employees");
+        ObjectWriter writer = objectMapper.writerFor(EmployeeResponseDto.class);
+        StreamingResponseBody body = outputStream -> employeeService.exportEmployees(employee -> {
+            try {
+                outputStream.write(writer.writeValueAsBytes(employee));
+                outputStream.write('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_MEDIA_TYPE))
+                .body(body);
+    }
+
     @GetMapping("/by-email/{email}")
     @Operation(
         summary = "Get employee by email",
@@ -168,9 +342,11 @@ public class EmployeeController {
     })
     public ResponseEntity<EmployeeResponseDto> getEmployeeByEmail(
             @Parameter(description = "Employee email", required = true, example = "john.doe@company.com")
-            @PathVariable String email) {
+            @PathVariable String email,
+            @Parameter(description = FIELDS_DESCRIPTION, example = "id,firstName,lastName,email")
+            @RequestParam(required = false) String fields) {
         log.info("REST request to get employee by email: {}", email);
-        EmployeeResponseDto responseDto = employeeService.getEmployeeByEmail(email);
+        EmployeeResponseDto responseDto = employeeService.getEmployeeByEmail(email, EmployeeFields.parse(fields));
         return ResponseEntity.ok(responseDto);
     }
 }
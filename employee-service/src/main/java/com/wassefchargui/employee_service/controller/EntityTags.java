@@ -0,0 +1,59 @@
+package com.wassefchargui.employee_service.controller;
+
+import com.wassefchargui.employee_service.dto.DepartmentDto;
+import com.wassefchargui.employee_service.dto.EmployeeResponseDto;
+import com.wassefchargui.employee_service.dto.EmployeeVersionDto;
+
+/**
+ * Strong entity tags of employee responses: {@code "<employee version>.<department version>"}, or
+ * just the employee version while the department cannot be resolved. The department part makes a
+ * renamed department change the ETag of every employee that embeds it.
+ */
+final class EntityTags {
+
+    /**
+     * Matches no stored version, so a weak or malformed If-Match always fails the precondition.
+     */
+    private static final long NO_VERSION = -1L;
+
+    private EntityTags() {
+    }
+
+    static String of(EmployeeResponseDto employee) {
+        DepartmentDto department = employee.getDepartment();
+        return of(employee.getVersion(), department == null ? null : department.getVersion());
+    }
+
+    /**
+     * Tag of a response that embeds the department only when {@code withDepartment}.
+     */
+    static String of(EmployeeVersionDto version, boolean withDepartment) {
+        return of(version.getVersion(), withDepartment ? version.getDepartmentVersion() : null);
+    }
+
+    /**
+     * Employee version an update must still find, read from its If-Match header, or {@code null}
+     * when the header is absent or {@code *}. Only the employee part of the tag is compared: a
+     * department rename does not make an edit of the employee conflict.
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (!tag.startsWith("\"") || !tag.endsWith("\"") || tag.length() < 3) {
+            return NO_VERSION;
+        }
+        String value = tag.substring(1, tag.length() - 1);
+        int separator = value.indexOf('.');
+        try {
+            return Long.parseLong(separator < 0 ? value : value.substring(0, separator));
+        } catch (NumberFormatException ex) {
+            return NO_VERSION;
+        }
+    }
+
+    private static String of(Long version, Long departmentVersion) {
+        return "\"" + version + (departmentVersion == null ? "" : "." + departmentVersion) + "\"";
+    }
+}
@@ -0,0 +1,22 @@
+package com.wassefchargui.employee_service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(description = "A row rejected by a bulk employee import")
+public class BulkImportErrorDto {
+
+    @Schema(description = "Zero-based position of the row in the request", example = "3")
+    private int index;
+
+    @Schema(description = "Email of the rejected row", example = "john.doe@company.com")
+    private String email;
+
+    @Schema(description = "Why the row was rejected", example = "Employee with email 'john.doe@company.com' already exists")
+    private String message;
+}
@@ -0,0 +1,24 @@
+package com.wassefchargui.employee_service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(description = "Outcome of a bulk employee import")
+public class BulkImportResponseDto {
+
+    @Schema(description = "Number of rows received", example = "1000")
+    private int received;
+
+    @Schema(description = "Number of rows inserted", example = "998")
+    private int imported;
+
+    @Schema(description = "Rows that were rejected, with the reason")
+    private List<BulkImportErrorDto> errors;
+}
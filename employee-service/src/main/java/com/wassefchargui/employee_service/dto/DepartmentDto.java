@@ -16,4 +16,7 @@ public class DepartmentDto {
 
     @Schema(description = "Department name", example = "Information Technology")
     private String nom;
+
+    @Schema(description = "Department version, incremented on every update", example = "0")
+    private Long version;
 }
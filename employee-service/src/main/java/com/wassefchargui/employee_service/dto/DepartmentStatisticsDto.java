@@ -0,0 +1,37 @@
+package com.wassefchargui.employee_service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(description = "Headcount and salary statistics of one department")
+public class DepartmentStatisticsDto {
+
+    @Schema(description = "Department ID", example = "1")
+    private Long departmentId;
+
+    @Schema(description = "Number of employees in the department", example = "42")
+    private long headcount;
+
+    @Schema(description = "Lowest salary, null when no employee has one", example = "38000.00")
+    private Double minSalary;
+
+    @Schema(description = "Average of the salaries that are set", example = "61250.00")
+    private Double averageSalary;
+
+    @Schema(description = "Highest salary, null when no employee has one", example = "125000.00")
+    private Double maxSalary;
+
+    @Schema(description = "Median salary, only when percentiles are requested", example = "58000.00")
+    private Double medianSalary;
+
+    @Schema(description = "90th percentile of salaries, only when percentiles are requested", example = "90000.00")
+    private Double p90Salary;
+
+    @Schema(description = "99th percentile of salaries, only when percentiles are requested", example = "120000.00")
+    private Double p99Salary;
+}
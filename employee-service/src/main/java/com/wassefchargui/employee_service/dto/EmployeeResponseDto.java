@@ -1,5 +1,7 @@
 package com.wassefchargui.employee_service.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.wassefchargui.employee_service.fieldset.EmployeeFields;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 
@@ -11,6 +13,7 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @Builder
 @Schema(description = "Response DTO containing complete employee information with department details")
+@JsonFilter(EmployeeFields.FILTER_ID)
 public class EmployeeResponseDto {
 
     @Schema(description = "Employee unique identifier", example = "1")
@@ -39,4 +42,15 @@ public class EmployeeResponseDto {
 
     @Schema(description = "Complete department information fetched from Department Service")
     private DepartmentDto department;
+
+    @Schema(description = "Version, incremented on every update", example = "0")
+    private Long version;
+
+    /**
+     * Used by the repository's constructor projections; the department is set afterwards.
+     */
+    public EmployeeResponseDto(Long id, String firstName, String lastName, String email, String position,
+                               Double salary, LocalDate hireDate, Long departmentId, Long version) {
+        this(id, firstName, lastName, email, position, salary, hireDate, departmentId, null, version);
+    }
 }
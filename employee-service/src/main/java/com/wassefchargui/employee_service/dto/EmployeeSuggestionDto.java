@@ -0,0 +1,25 @@
+package com.wassefchargui.employee_service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(description = "Lightweight employee entry returned by name autocomplete")
+public class EmployeeSuggestionDto {
+
+    @Schema(description = "Employee unique identifier", example = "1")
+    private Long id;
+
+    @Schema(description = "Employee first name", example = "John")
+    private String firstName;
+
+    @Schema(description = "Employee last name", example = "Doe")
+    private String lastName;
+
+    @Schema(description = "Employee email address", example = "john.doe@company.com")
+    private String email;
+}
@@ -0,0 +1,17 @@
+package com.wassefchargui.employee_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Versions an employee response depends on: the employee row and the embedded department, whose
+ * version is {@code null} when it could not be resolved.
+ */
+@Getter
+@AllArgsConstructor
+public class EmployeeVersionDto {
+
+    private Long version;
+
+    private Long departmentVersion;
+}
@@ -0,0 +1,38 @@
+package com.wassefchargui.employee_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Headcount and salary totals of one department, kept up to date by
+ * {@code DepartmentSalarySummaries} in the transactions that change employees, so that department
+ * statistics are read from one row per department instead of aggregating every employee.
+ * {@code salaryCount} only counts employees with a salary; it is the divisor of the average.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "department_salary_summaries")
+public class DepartmentSalarySummary {
+
+    @Id
+    private Long departmentId;
+
+    @Column(nullable = false)
+    private long headcount;
+
+    @Column(nullable = false)
+    private long salaryCount;
+
+    @Column(nullable = false)
+    private double salarySum;
+
+    @Column
+    private Double minSalary;
+
+    @Column
+    private Double maxSalary;
+}
@@ -0,0 +1,8 @@
+package com.wassefchargui.employee_service.exception;
+
+public class BulkImportTooLargeException extends RuntimeException {
+
+    public BulkImportTooLargeException(int rows, int maxRows) {
+        super("Cannot import " + rows + " employees at once, the maximum is " + maxRows);
+    }
+}
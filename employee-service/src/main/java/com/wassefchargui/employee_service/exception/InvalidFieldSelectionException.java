@@ -0,0 +1,8 @@
+package com.wassefchargui.employee_service.exception;
+
+public class InvalidFieldSelectionException extends RuntimeException {
+
+    public InvalidFieldSelectionException(String message) {
+        super(message);
+    }
+}
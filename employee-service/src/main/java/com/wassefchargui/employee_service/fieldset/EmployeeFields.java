@@ -0,0 +1,89 @@
+package com.wassefchargui.employee_service.fieldset;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.wassefchargui.employee_service.dto.EmployeeResponseDto;
+import com.wassefchargui.employee_service.exception.InvalidFieldSelectionException;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Employee properties selected with the {@code fields} parameter of the read endpoints, e.g.
+ * {@code ?fields=id,firstName,email}. Only the matching columns are read, the department is only
+ * resolved when {@code department} is selected, and every other property is left out of the JSON
+ * through the {@value #FILTER_ID} filter of {@link EmployeeResponseDto}.
+ */
+public final class EmployeeFields {
+
+    public static final String PARAMETER = "fields";
+    public static final String FILTER_ID = "employeeFields";
+    public static final EmployeeFields ALL = new EmployeeFields(null);
+
+    private static final String DEPARTMENT = "department";
+    private static final List<String> SELECTABLE = List.of(
+            "id", "firstName", "lastName", "email", "position", "salary", "hireDate", "departmentId",
+            DEPARTMENT, "version");
+
+    /**
+     * Selected properties, {@code null} for all of them.
+     */
+    private final Set<String> names;
+
+    private EmployeeFields(Set<String> names) {
+        this.names = names;
+    }
+
+    /**
+     * Parses a comma-separated list of properties; a missing or blank parameter selects them all.
+     */
+    public static EmployeeFields parse(String parameter) {
+        if (parameter == null || parameter.isBlank()) {
+            return ALL;
+        }
+        Set<String> names = new LinkedHashSet<>();
+        for (String name : parameter.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (!SELECTABLE.contains(trimmed)) {
+                throw new InvalidFieldSelectionException("Unsupported field '" + trimmed + "', expected any of "
+                        + String.join(",", SELECTABLE));
+            }
+            names.add(trimmed);
+        }
+        return names.isEmpty() ? ALL : new EmployeeFields(Set.copyOf(names));
+    }
+
+    public boolean isAll() {
+        return names == null;
+    }
+
+    public boolean includesDepartment() {
+        return names == null || names.contains(DEPARTMENT);
+    }
+
+    /**
+     * Employee attributes to read: the selected properties, the department id when the department
+     * has to be resolved, and the {@code required} ones the caller needs itself, e.g. a cursor key.
+     */
+    public Set<String> attributes(String... required) {
+        Set<String> attributes = new LinkedHashSet<>(names == null ? SELECTABLE : names);
+        attributes.remove(DEPARTMENT);
+        if (includesDepartment()) {
+            attributes.add("departmentId");
+        }
+        attributes.addAll(Arrays.asList(required));
+        return attributes;
+    }
+
+    public FilterProvider filters() {
+        return new SimpleFilterProvider().addFilter(FILTER_ID, names == null
+                ? SimpleBeanPropertyFilter.serializeAll()
+                : SimpleBeanPropertyFilter.filterOutAllExcept(names));
+    }
+}
@@ -0,0 +1,39 @@
+package com.wassefchargui.employee_service.fieldset;
+
+import com.wassefchargui.employee_service.controller.EmployeeController;
+import com.wassefchargui.employee_service.exception.InvalidFieldSelectionException;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+/**
+ * Applies the {@code fields} parameter to the JSON, CBOR and Smile written by
+ * {@link EmployeeController}, so employees of a sparse request only carry the selected
+ * properties. Invalid selections are left to the controller, which rejects them.
+ */
+@ControllerAdvice(assignableTypes = EmployeeController.class)
+public class EmployeeFieldsResponseAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+        try {
+            EmployeeFields fields = EmployeeFields.parse(
+                    servletRequest.getServletRequest().getParameter(EmployeeFields.PARAMETER));
+            if (!fields.isAll()) {
+                bodyContainer.setFilters(fields.filters());
+            }
+        } catch (InvalidFieldSelectionException ex) {
+            // the controller has already answered with 400
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.wassefchargui.employee_service.mapper;
 
 import com.wassefchargui.employee_service.dto.EmployeeRequestDto;
 import com.wassefchargui.employee_service.dto.EmployeeResponseDto;
+import com.wassefchargui.employee_service.dto.EmployeeSuggestionDto;
 import com.wassefchargui.employee_service.entity.Employee;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -13,9 +14,13 @@ public interface EmployeeMapper {
     @Mapping(target = "department", ignore = true)
     EmployeeResponseDto toResponseDto(Employee employee);
 
+    EmployeeSuggestionDto toSuggestionDto(Employee employee);
+
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Employee toEntity(EmployeeRequestDto requestDto);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void updateEntityFromDto(EmployeeRequestDto requestDto, @MappingTarget Employee employee);
 }
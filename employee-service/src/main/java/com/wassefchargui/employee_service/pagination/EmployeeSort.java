@@ -0,0 +1,40 @@
+package com.wassefchargui.employee_service.pagination;
+
+import com.wassefchargui.common.pagination.KeysetSort;
+import com.wassefchargui.common.pagination.PageCursor;
+import com.wassefchargui.employee_service.dto.EmployeeResponseDto;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+
+import java.util.function.Function;
+
+/**
+ * Sort keys supported by the employee listing, each with the id as tie-breaker.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum EmployeeSort implements KeysetSort {
+
+    ID("id", employee -> null, Sort.by("id")),
+    LAST_NAME("lastName", EmployeeResponseDto::getLastName, Sort.by("lastName", "id"));
+
+    private final String parameter;
+    private final Function<EmployeeResponseDto, String> sortValue;
+    private final Sort order;
+
+    /**
+     * Employee attributes a page must read, whatever fields were selected, to build its cursor.
+     */
+    public String[] keyAttributes() {
+        return order.stream().map(Sort.Order::getProperty).toArray(String[]::new);
+    }
+
+    public PageCursor cursorAfter(EmployeeResponseDto employee) {
+        return cursorAfter(employee.getId(), sortValue.apply(employee));
+    }
+
+    public static EmployeeSort fromParameter(String parameter) {
+        return KeysetSort.fromParameter(EmployeeSort.class, parameter);
+    }
+}
@@ -0,0 +1,28 @@
+package com.wassefchargui.employee_service.readmodel;
+
+import com.wassefchargui.employee_service.dto.DepartmentDto;
+
+import java.time.Instant;
+
+/**
+ * Department change published by the Department Service. Deletions are published as tombstones
+ * (a null value under the department id) so that compaction eventually drops the department from
+ * the topic; they are turned into {@link Type#DELETED} events, whose {@code nom} and
+ * {@code version} are null, by {@link #deleted(Long)}.
+ */
+public record DepartmentEvent(Type type, Long id, String nom, Long version, Instant occurredAt) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static DepartmentEvent deleted(Long id) {
+        return new DepartmentEvent(Type.DELETED, id, null, null, null);
+    }
+
+    public DepartmentDto toDto() {
+        return new DepartmentDto(id, nom, version);
+    }
+}
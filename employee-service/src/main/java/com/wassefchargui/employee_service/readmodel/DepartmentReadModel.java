@@ -0,0 +1,86 @@
+package com.wassefchargui.employee_service.readmodel;
+
+import com.wassefchargui.employee_service.dto.DepartmentDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local replica of every department, kept up to date from {@link DepartmentEvent}s and rebuilt
+ * from the Department Service on startup.
+ *
+ * <p>Until the first resync completes the replica is not {@link #isReady() ready} and must not be
+ * trusted for "not found" answers. Events received while a resync is in flight win over the
+ * snapshot, which may have been read before them. Since the event topic is replayed from the start,
+ * an event older than the department already held (lower version) is ignored.
+ *
+ * <p>Events and resyncs are applied under the same lock, so an event can neither slip between the
+ * snapshot being merged and {@code changedDuringResync} being cleared, nor be overwritten by it.
+ */
+@Slf4j
+@Component
+public class DepartmentReadModel {
+
+    private final Map<Long, DepartmentDto> departments = new ConcurrentHashMap<>();
+    private final Set<Long> changedDuringResync = new HashSet<>();
+    private boolean resyncing;
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return departments.size();
+    }
+
+    public Optional<DepartmentDto> find(Long id) {
+        return Optional.ofNullable(departments.get(id));
+    }
+
+    public synchronized void apply(DepartmentEvent event) {
+        switch (event.type()) {
+            case CREATED, UPDATED -> departments.merge(event.id(), event.toDto(), DepartmentReadModel::newer);
+            case DELETED -> departments.remove(event.id());
+        }
+        if (resyncing) {
+            changedDuringResync.add(event.id());
+        }
+    }
+
+    public synchronized void beginResync() {
+        changedDuringResync.clear();
+        resyncing = true;
+    }
+
+    public synchronized void completeResync(Map<Long, DepartmentDto> snapshot) {
+        snapshot.forEach((id, department) -> {
+            if (!changedDuringResync.contains(id)) {
+                departments.put(id, department);
+            }
+        });
+        departments.keySet().removeIf(id -> !snapshot.containsKey(id) && !changedDuringResync.contains(id));
+        changedDuringResync.clear();
+        resyncing = false;
+        ready = true;
+        log.info("Department read model resynced with {} departments", departments.size());
+    }
+
+    public synchronized void abortResync() {
+        changedDuringResync.clear();
+        resyncing = false;
+    }
+
+    private static DepartmentDto newer(DepartmentDto current, DepartmentDto received) {
+        if (current.getVersion() != null && received.getVersion() != null
+                && received.getVersion() < current.getVersion()) {
+            return current;
+        }
+        return received;
+    }
+}
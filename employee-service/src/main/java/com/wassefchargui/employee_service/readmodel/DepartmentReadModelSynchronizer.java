@@ -0,0 +1,122 @@
+package com.wassefchargui.employee_service.readmodel;
+
+import com.wassefchargui.employee_service.client.DepartmentCache;
+import com.wassefchargui.employee_service.client.DepartmentClient;
+import com.wassefchargui.employee_service.config.events.EventsProperties;
+import com.wassefchargui.employee_service.config.events.KafkaListenerConfig;
+import com.wassefchargui.employee_service.dto.CursorPageResponseDto;
+import com.wassefchargui.employee_service.dto.DepartmentDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Component;
+import org.springframework.util.backoff.BackOffExecution;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Feeds {@link DepartmentReadModel}: a full resync from the Department Service once the
+ * application is ready, retried with exponential backoff until it succeeds, and updates from the
+ * department events topic.
+ *
+ * <p>Every instance uses its own consumer group so that each one sees every event, and reads the
+ * compacted topic from the beginning whenever partitions are assigned: events published while the
+ * instance was down are replayed rather than lost, and applied over the snapshot. The group never
+ * commits offsets (see {@link KafkaListenerConfig#readModelContainerFactory}), so it does not outlive
+ * the instance.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "application.events", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(EventsProperties.class)
+public class DepartmentReadModelSynchronizer implements ConsumerSeekAware, DisposableBean {
+
+    private final DepartmentReadModel readModel;
+    private final DepartmentClient departmentClient;
+    private final DepartmentCache departmentCache;
+    private final EventsProperties properties;
+    private volatile Thread resyncThread;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startResync() {
+        resyncThread = Thread.ofVirtual().name("department-read-model-resync").start(this::resyncUntilDone);
+    }
+
+    /**
+     * Pulls every department from the Department Service into the read model.
+     *
+     * @return whether the resync completed; on failure the read model keeps its previous state
+     */
+    public boolean resync() {
+        log.info("Resyncing department read model");
+        readModel.beginResync();
+        try {
+            Map<Long, DepartmentDto> snapshot = new HashMap<>();
+            String cursor = null;
+            CursorPageResponseDto<DepartmentDto> page;
+            do {
+                page = departmentClient.getDepartments(cursor, properties.getResyncPageSize());
+                page.getContent().forEach(department -> snapshot.put(department.getId(), department));
+                cursor = page.getNextCursor();
+            } while (page.isHasNext());
+            readModel.completeResync(snapshot);
+            return true;
+        } catch (RuntimeException ex) {
+            readModel.abortResync();
+            log.warn("Could not resync department read model, falling back to remote lookups: {}", ex.getMessage());
+            return false;
+        }
+    }
+
+    @KafkaListener(topics = "${application.events.department-topic}",
+            groupId = "${spring.application.name}-read-model-${random.uuid}",
+            containerFactory = KafkaListenerConfig.READ_MODEL_CONTAINER_FACTORY)
+    public void onDepartmentEvent(ConsumerRecord<String, DepartmentEvent> record) {
+        DepartmentEvent event = record.value() != null
+                ? record.value()
+                : DepartmentEvent.deleted(Long.valueOf(record.key()));
+        log.debug("Received {} event for department {}", event.type(), event.id());
+        readModel.apply(event);
+        departmentCache.evict(event.id());
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        callback.seekToBeginning(assignments.keySet());
+    }
+
+    @Override
+    public void destroy() {
+        Thread thread = resyncThread;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void resyncUntilDone() {
+        ExponentialBackOff backOff = new ExponentialBackOff(properties.getResyncInitialBackoff().toMillis(), 2);
+        backOff.setMaxInterval(properties.getResyncMaxBackoff().toMillis());
+        BackOffExecution execution = backOff.start();
+        while (!resync()) {
+            long waitMillis = execution.nextBackOff();
+            log.info("Retrying department read model resync in {} ms", waitMillis);
+            try {
+                Thread.sleep(waitMillis);
+            } catch (InterruptedException ex) {
+                // shutting down
+                return;
+            }
+        }
+    }
+}
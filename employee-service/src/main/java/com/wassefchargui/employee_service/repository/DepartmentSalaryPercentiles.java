@@ -0,0 +1,7 @@
+package com.wassefchargui.employee_service.repository;
+
+/**
+ * Salary percentiles of one department, computed by the database over its salaried employees.
+ */
+public record DepartmentSalaryPercentiles(Long departmentId, Double p50, Double p90, Double p99) {
+}
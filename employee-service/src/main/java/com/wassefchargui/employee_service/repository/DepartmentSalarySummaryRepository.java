@@ -0,0 +1,80 @@
+package com.wassefchargui.employee_service.repository;
+
+import com.wassefchargui.employee_service.entity.DepartmentSalarySummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface DepartmentSalarySummaryRepository extends JpaRepository<DepartmentSalarySummary, Long> {
+
+    List<DepartmentSalarySummary> findByHeadcountGreaterThanOrderByDepartmentIdAsc(long headcount);
+
+    /**
+     * Adds employees to a department's totals in place, so that concurrent writers never lose an
+     * update. {@code minSalary} and {@code maxSalary} are null when none of them has a salary.
+     */
+    @Modifying
+    @Query("""
+            update DepartmentSalarySummary s
+            set s.headcount = s.headcount + :headcount,
+                s.salaryCount = s.salaryCount + :salaryCount,
+                s.salarySum = s.salarySum + :salarySum,
+                s.minSalary = case
+                    when :minSalary is null then s.minSalary
+                    when s.minSalary is null or :minSalary < s.minSalary then :minSalary
+                    else s.minSalary end,
+                s.maxSalary = case
+                    when :maxSalary is null then s.maxSalary
+                    when s.maxSalary is null or :maxSalary > s.maxSalary then :maxSalary
+                    else s.maxSalary end
+            where s.departmentId = :departmentId
+            """)
+    int add(@Param("departmentId") Long departmentId,
+            @Param("headcount") long headcount,
+            @Param("salaryCount") long salaryCount,
+            @Param("salarySum") double salarySum,
+            @Param("minSalary") Double minSalary,
+            @Param("maxSalary") Double maxSalary);
+
+    @Modifying
+    @Query("""
+            update DepartmentSalarySummary s
+            set s.headcount = s.headcount - 1,
+                s.salaryCount = s.salaryCount - case when :salary is null then 0 else 1 end,
+                s.salarySum = s.salarySum - coalesce(:salary, 0)
+            where s.departmentId = :departmentId
+            """)
+    int remove(@Param("departmentId") Long departmentId, @Param("salary") Double salary);
+
+    /**
+     * Recomputes the salary range of a department from its employees, which is only needed when
+     * the removed salary was its minimum or maximum. Served by the department/salary index.
+     */
+    @Modifying
+    @Query("""
+            update DepartmentSalarySummary s
+            set s.minSalary = (select min(e.salary) from Employee e where e.departmentId = s.departmentId),
+                s.maxSalary = (select max(e.salary) from Employee e where e.departmentId = s.departmentId)
+            where s.departmentId = :departmentId
+              and (s.minSalary >= :salary or s.maxSalary <= :salary)
+            """)
+    int recomputeSalaryRange(@Param("departmentId") Long departmentId, @Param("salary") Double salary);
+
+    /**
+     * Creates the zero summary of a department unless it already has one, including one inserted
+     * concurrently by another transaction: the conflict is skipped instead of raising an error
+     * that would abort the caller's transaction. Unlike {@code save}, never overwrites a summary.
+     */
+    @Modifying
+    @Query(value = """
+            insert into department_salary_summaries (department_id, headcount, salary_count, salary_sum)
+            values (:departmentId, 0, 0, 0)
+            on conflict do nothing
+            """, nativeQuery = true)
+    int insertEmptyIfAbsent(@Param("departmentId") Long departmentId);
+}
@@ -1,20 +1,148 @@
 package com.wassefchargui.employee_service.repository;
 
+import com.wassefchargui.employee_service.dto.EmployeeResponseDto;
 import com.wassefchargui.employee_service.entity.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, SparseEmployeeRepository {
 
-    Optional<Employee> findByEmail(String email);
+    /**
+     * Selects employees straight into {@link EmployeeResponseDto}s, without their department: the
+     * rows are never hydrated into managed entities, so reads skip the persistence context and the
+     * entity-to-DTO mapping.
+     */
+    String SELECT_RESPONSE = """
+            select new com.wassefchargui.employee_service.dto.EmployeeResponseDto(
+                e.id, e.firstName, e.lastName, e.email, e.position, e.salary, e.hireDate, e.departmentId, e.version)
+            from Employee e
+            """;
+
+    String LIST_FETCH_SIZE = "500";
+
+    @Query(SELECT_RESPONSE + "where e.id = :id")
+    Optional<EmployeeResponseDto> findResponseById(@Param("id") Long id);
+
+    @Query(SELECT_RESPONSE + "where e.email = :email")
+    Optional<EmployeeResponseDto> findResponseByEmail(@Param("email") String email);
 
     boolean existsByEmail(String email);
 
-    List<Employee> findByDepartmentId(Long departmentId);
+    @Query("""
+            select new com.wassefchargui.employee_service.repository.EmployeeVersion(e.version, e.departmentId)
+            from Employee e
+            where e.id = :id
+            """)
+    Optional<EmployeeVersion> findVersionById(@Param("id") Long id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = LIST_FETCH_SIZE))
+    @Query(SELECT_RESPONSE + "where e.departmentId = :departmentId")
+    List<EmployeeResponseDto> findResponsesByDepartmentId(@Param("departmentId") Long departmentId);
 
     List<Employee> findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(String firstName, String lastName);
+
+    /**
+     * Same matching as {@link #findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase},
+     * wildcards in {@code name} included, as a projection.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = LIST_FETCH_SIZE))
+    @Query(SELECT_RESPONSE + """
+            where upper(e.firstName) like %:#{escape(#name).toUpperCase()}% escape :#{escapeCharacter()}
+               or upper(e.lastName) like %:#{escape(#name).toUpperCase()}% escape :#{escapeCharacter()}
+            """)
+    List<EmployeeResponseDto> findResponsesByName(@Param("name") String name);
+
+    @Query(SELECT_RESPONSE + "order by e.id asc")
+    List<EmployeeResponseDto> findResponsesOrderByIdAsc(Limit limit);
+
+    @Query(SELECT_RESPONSE + "where e.id > :id order by e.id asc")
+    List<EmployeeResponseDto> findResponsesAfterIdOrderByIdAsc(@Param("id") Long id, Limit limit);
+
+    @Query(SELECT_RESPONSE + "order by e.lastName asc, e.id asc")
+    List<EmployeeResponseDto> findResponsesOrderByLastNameAscIdAsc(Limit limit);
+
+    /**
+     * Row-value comparison, so the database seeks the {@code (last_name, id)} index straight to the
+     * cursor instead of combining two range conditions.
+     */
+    @Query(SELECT_RESPONSE + """
+            where (e.lastName, e.id) > (:lastName, :id)
+            order by e.lastName asc, e.id asc
+            """)
+    List<EmployeeResponseDto> findResponsesAfterLastName(@Param("lastName") String lastName,
+                                                         @Param("id") Long id,
+                                                         Limit limit);
+
+    @Query(value = """
+            select * from employees e
+            where (lower(e.first_name) || ' ' || lower(e.last_name)) % :term
+               or (lower(e.first_name) || ' ' || lower(e.last_name)) like :containsPattern
+            order by similarity(lower(e.first_name) || ' ' || lower(e.last_name), :term) desc, e.id
+            limit :limit
+            """, nativeQuery = true)
+    List<Employee> searchByTrigram(@Param("term") String term,
+                                   @Param("containsPattern") String containsPattern,
+                                   @Param("limit") int limit);
+
+    @Query(value = """
+            select * from employees e
+            where (lower(e.first_name) || ' ' || lower(e.last_name)) like :firstNamePattern
+               or (lower(e.first_name) || ' ' || lower(e.last_name)) like :lastNamePattern
+            order by e.last_name, e.first_name, e.id
+            limit :limit
+            """, nativeQuery = true)
+    List<Employee> autocompleteByTrigram(@Param("firstNamePattern") String firstNamePattern,
+                                         @Param("lastNamePattern") String lastNamePattern,
+                                         @Param("limit") int limit);
+
+    @Query("select e.email from Employee e where e.email in :emails")
+    Set<String> findEmailsIn(@Param("emails") Collection<String> emails);
+
+    @Query("select distinct e.departmentId from Employee e")
+    Set<Long> findDistinctDepartmentIds();
+
+    @Query("""
+            select new com.wassefchargui.employee_service.repository.DepartmentSalaryPercentiles(
+                e.departmentId,
+                percentile_cont(0.5) within group (order by e.salary),
+                percentile_cont(0.9) within group (order by e.salary),
+                percentile_cont(0.99) within group (order by e.salary))
+            from Employee e
+            where e.salary is not null
+            group by e.departmentId
+            """)
+    List<DepartmentSalaryPercentiles> findSalaryPercentiles();
+
+    @Query("""
+            select new com.wassefchargui.employee_service.repository.DepartmentSalaryPercentiles(
+                e.departmentId,
+                percentile_cont(0.5) within group (order by e.salary),
+                percentile_cont(0.9) within group (order by e.salary),
+                percentile_cont(0.99) within group (order by e.salary))
+            from Employee e
+            where e.salary is not null and e.departmentId = :departmentId
+            group by e.departmentId
+            """)
+    Optional<DepartmentSalaryPercentiles> findSalaryPercentilesByDepartmentId(@Param("departmentId") Long departmentId);
+
+    /**
+     * Streams every employee through a server-side cursor. Must be consumed inside a transaction
+     * and closed by the caller. Being a projection, nothing accumulates in the persistence context.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(SELECT_RESPONSE + "order by e.id")
+    Stream<EmployeeResponseDto> streamResponsesOrderByIdAsc();
 }
@@ -0,0 +1,59 @@
+package com.wassefchargui.employee_service.repository;
+
+import com.wassefchargui.employee_service.entity.Employee;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Conditions of the read queries, for {@link SparseEmployeeRepository}. They match the
+ * corresponding projection queries of {@link EmployeeRepository}.
+ */
+public final class EmployeeSpecifications {
+
+    private static final char ESCAPE = '\\';
+
+    private EmployeeSpecifications() {
+    }
+
+    public static Specification<Employee> hasId(Long id) {
+        return (employee, query, builder) -> builder.equal(employee.get("id"), id);
+    }
+
+    public static Specification<Employee> hasEmail(String email) {
+        return (employee, query, builder) -> builder.equal(employee.get("email"), email);
+    }
+
+    public static Specification<Employee> inDepartment(Long departmentId) {
+        return (employee, query, builder) -> builder.equal(employee.get("departmentId"), departmentId);
+    }
+
+    public static Specification<Employee> idAfter(Long id) {
+        return (employee, query, builder) -> builder.greaterThan(employee.<Long>get("id"), id);
+    }
+
+    /**
+     * {@code (lastName, id) > (lastName, id)} of {@link EmployeeRepository#findResponsesAfterLastName}.
+     * The criteria API has no row values, so the comparison is expanded with a leading
+     * {@code lastName >=} bound that still lets the database seek the {@code (last_name, id)} index.
+     */
+    public static Specification<Employee> afterLastName(String lastName, Long id) {
+        return (employee, query, builder) -> builder.and(
+                builder.greaterThanOrEqualTo(employee.<String>get("lastName"), lastName),
+                builder.or(
+                        builder.greaterThan(employee.<String>get("lastName"), lastName),
+                        builder.greaterThan(employee.<Long>get("id"), id)));
+    }
+
+    /**
+     * First or last name containing {@code name}, ignoring case; wildcards in it match literally.
+     */
+    public static Specification<Employee> nameContains(String name) {
+        String pattern = "%" + escape(name).toUpperCase() + "%";
+        return (employee, query, builder) -> builder.or(
+                builder.like(builder.upper(employee.<String>get("firstName")), pattern, ESCAPE),
+                builder.like(builder.upper(employee.<String>get("lastName")), pattern, ESCAPE));
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
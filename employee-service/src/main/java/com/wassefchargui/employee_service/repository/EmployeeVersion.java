@@ -0,0 +1,7 @@
+package com.wassefchargui.employee_service.repository;
+
+/**
+ * The columns needed to compute an employee's ETag, read without hydrating the entity.
+ */
+public record EmployeeVersion(Long version, Long departmentId) {
+}
@@ -0,0 +1,19 @@
+package com.wassefchargui.employee_service.repository;
+
+import com.wassefchargui.employee_service.dto.EmployeeResponseDto;
+import com.wassefchargui.employee_service.entity.Employee;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads employees selecting only some of their columns, for the sparse fieldsets of the read
+ * endpoints. Properties that were not selected are left null.
+ */
+public interface SparseEmployeeRepository {
+
+    List<EmployeeResponseDto> findSparse(Set<String> attributes, Specification<Employee> where, Sort sort, Limit limit);
+}
@@ -0,0 +1,71 @@
+package com.wassefchargui.employee_service.repository;
+
+import com.wassefchargui.employee_service.dto.EmployeeResponseDto;
+import com.wassefchargui.employee_service.entity.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+@RequiredArgsConstructor
+class SparseEmployeeRepositoryImpl implements SparseEmployeeRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<EmployeeResponseDto> findSparse(Set<String> attributes, Specification<Employee> where,
+                                                Sort sort, Limit limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Employee> employee = query.from(Employee.class);
+        List<String> selected = List.copyOf(attributes);
+        query.multiselect(selected.stream()
+                .<Selection<?>>map(attribute -> employee.get(attribute).alias(attribute))
+                .toList());
+        if (where != null) {
+            query.where(where.toPredicate(employee, query, builder));
+        }
+        query.orderBy(QueryUtils.toOrders(sort, employee, builder));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, EmployeeRepository.LIST_FETCH_SIZE);
+        if (limit.isLimited()) {
+            typedQuery.setMaxResults(limit.max());
+        }
+        return typedQuery.getResultList().stream()
+                .map(tuple -> toResponse(tuple, selected))
+                .toList();
+    }
+
+    private static EmployeeResponseDto toResponse(Tuple tuple, List<String> selected) {
+        EmployeeResponseDto response = new EmployeeResponseDto();
+        for (String attribute : selected) {
+            switch (attribute) {
+                case "id" -> response.setId(tuple.get(attribute, Long.class));
+                case "firstName" -> response.setFirstName(tuple.get(attribute, String.class));
+                case "lastName" -> response.setLastName(tuple.get(attribute, String.class));
+                case "email" -> response.setEmail(tuple.get(attribute, String.class));
+                case "position" -> response.setPosition(tuple.get(attribute, String.class));
+                case "salary" -> response.setSalary(tuple.get(attribute, Double.class));
+                case "hireDate" -> response.setHireDate(tuple.get(attribute, LocalDate.class));
+                case "departmentId" -> response.setDepartmentId(tuple.get(attribute, Long.class));
+                case "version" -> response.setVersion(tuple.get(attribute, Long.class));
+                default -> throw new IllegalArgumentException("Unsupported employee attribute '" + attribute + "'");
+            }
+        }
+        return response;
+    }
+}
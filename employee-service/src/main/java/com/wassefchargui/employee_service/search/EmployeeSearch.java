@@ -0,0 +1,21 @@
+package com.wassefchargui.employee_service.search;
+
+import com.wassefchargui.employee_service.entity.Employee;
+
+import java.util.List;
+
+/**
+ * Name search over employees, most relevant first.
+ */
+public interface EmployeeSearch {
+
+    /**
+     * Fuzzy match of {@code term} against the full name, tolerant to typos and partial words.
+     */
+    List<Employee> search(String term, int limit);
+
+    /**
+     * Employees whose first or last name starts with {@code prefix}.
+     */
+    List<Employee> autocomplete(String prefix, int limit);
+}
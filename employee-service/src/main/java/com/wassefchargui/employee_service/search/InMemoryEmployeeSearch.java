@@ -0,0 +1,63 @@
+package com.wassefchargui.employee_service.search;
+
+import com.wassefchargui.employee_service.entity.Employee;
+import com.wassefchargui.employee_service.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Fallback for databases without pg_trgm (e.g. H2 in tests): candidates come from a plain LIKE
+ * query and are ranked in the JVM. Exact and prefix matches rank above substring matches.
+ *
+ * <p>Unlike {@link TrigramEmployeeSearch} this does no fuzzy matching: a misspelled term finds
+ * nothing, and results are not ranked by similarity.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "application.search", name = "mode", havingValue = "in_memory")
+public class InMemoryEmployeeSearch implements EmployeeSearch {
+
+    private final EmployeeRepository employeeRepository;
+
+    @Override
+    public List<Employee> search(String term, int limit) {
+        String normalized = term.trim().toLowerCase(Locale.ROOT);
+        return employeeRepository
+                .findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(normalized, normalized)
+                .stream()
+                .sorted(Comparator.comparingInt((Employee employee) -> rank(employee, normalized))
+                        .thenComparing(Employee::getId))
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public List<Employee> autocomplete(String prefix, int limit) {
+        String normalized = prefix.trim().toLowerCase(Locale.ROOT);
+        return employeeRepository
+                .findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(normalized, normalized)
+                .stream()
+                .filter(employee -> rank(employee, normalized) <= 1)
+                .sorted(Comparator.comparingInt((Employee employee) -> rank(employee, normalized))
+                        .thenComparing(Employee::getId))
+                .limit(limit)
+                .toList();
+    }
+
+    private static int rank(Employee employee, String term) {
+        String firstName = employee.getFirstName().toLowerCase(Locale.ROOT);
+        String lastName = employee.getLastName().toLowerCase(Locale.ROOT);
+        if (firstName.equals(term) || lastName.equals(term)) {
+            return 0;
+        }
+        if (firstName.startsWith(term) || lastName.startsWith(term)) {
+            return 1;
+        }
+        return 2;
+    }
+}
@@ -0,0 +1,37 @@
+package com.wassefchargui.employee_service.search;
+
+import com.wassefchargui.employee_service.entity.Employee;
+import com.wassefchargui.employee_service.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * PostgreSQL search backed by the pg_trgm GIN index created by {@link TrigramIndexInitializer}.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "application.search", name = "mode", havingValue = "trigram", matchIfMissing = true)
+public class TrigramEmployeeSearch implements EmployeeSearch {
+
+    private final EmployeeRepository employeeRepository;
+
+    @Override
+    public List<Employee> search(String term, int limit) {
+        String normalized = term.trim().toLowerCase(Locale.ROOT);
+        return employeeRepository.searchByTrigram(normalized, "%" + escapeLike(normalized) + "%", limit);
+    }
+
+    @Override
+    public List<Employee> autocomplete(String prefix, int limit) {
+        String normalized = escapeLike(prefix.trim().toLowerCase(Locale.ROOT));
+        return employeeRepository.autocompleteByTrigram(normalized + "%", "% " + normalized + "%", limit);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
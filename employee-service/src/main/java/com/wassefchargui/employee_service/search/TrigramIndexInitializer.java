@@ -0,0 +1,44 @@
+package com.wassefchargui.employee_service.search;
+
+import com.wassefchargui.employee_service.config.search.SearchProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the pg_trgm extension and the GIN index on the lower-cased full name used by
+ * {@link TrigramEmployeeSearch}. The index expression must stay identical to the one in the
+ * repository queries, otherwise PostgreSQL falls back to a sequential scan.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "application.search", name = "mode", havingValue = "trigram", matchIfMissing = true)
+public class TrigramIndexInitializer implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SearchProperties searchProperties;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!searchProperties.isCreateIndex()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.execute("create extension if not exists pg_trgm");
+            jdbcTemplate.execute("""
+                    create index if not exists idx_employees_full_name_trgm on employees
+                    using gin ((lower(first_name) || ' ' || lower(last_name)) gin_trgm_ops)
+                    """);
+            log.info("Trigram search index is in place");
+        } catch (DataAccessException ex) {
+            log.warn("Could not create trigram search index, name search will be slow: {}", ex.getMessage());
+        }
+    }
+}
@@ -1,25 +1,65 @@
 package com.wassefchargui.employee_service.service;
 
+import com.wassefchargui.employee_service.dto.BulkImportResponseDto;
+import com.wassefchargui.employee_service.dto.CursorPageResponseDto;
+import com.wassefchargui.employee_service.dto.DepartmentStatisticsDto;
 import com.wassefchargui.employee_service.dto.EmployeeRequestDto;
 import com.wassefchargui.employee_service.dto.EmployeeResponseDto;
+import com.wassefchargui.employee_service.dto.EmployeeSuggestionDto;
+import com.wassefchargui.employee_service.dto.EmployeeVersionDto;
+import com.wassefchargui.employee_service.fieldset.EmployeeFields;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface EmployeeService {
 
     EmployeeResponseDto createEmployee(EmployeeRequestDto requestDto);
 
-    EmployeeResponseDto getEmployeeById(Long id);
+    BulkImportResponseDto importEmployees(List<EmployeeRequestDto> requestDtos);
 
-    List<EmployeeResponseDto> getAllEmployees();
+    /**
+     * Reads employees with only the selected {@code fields}; the department is only resolved when
+     * it is selected. The same applies to the other read methods taking {@link EmployeeFields}.
+     */
+    EmployeeResponseDto getEmployeeById(Long id, EmployeeFields fields);
 
-    EmployeeResponseDto updateEmployee(Long id, EmployeeRequestDto requestDto);
+    /**
+     * Versions behind {@link #getEmployeeById(Long)}, read without hydrating the employee and,
+     * when the department is replicated or cached, without calling the Department Service.
+     */
+    EmployeeVersionDto getEmployeeVersion(Long id);
+
+    CursorPageResponseDto<EmployeeResponseDto> getAllEmployees(String cursor, Integer size, String sort,
+                                                               EmployeeFields fields);
+
+    /**
+     * Updates an employee, provided it is still at {@code expectedVersion} when that is not null.
+     */
+    EmployeeResponseDto updateEmployee(Long id, EmployeeRequestDto requestDto, Long expectedVersion);
 
     void deleteEmployee(Long id);
 
-    List<EmployeeResponseDto> getEmployeesByDepartmentId(Long departmentId);
+    List<EmployeeResponseDto> getEmployeesByDepartmentId(Long departmentId, EmployeeFields fields);
+
+    List<EmployeeResponseDto> searchEmployeesByName(String name, EmployeeFields fields);
+
+    /**
+     * Ranked search reads whole rows; {@code fields} only trims the response and the department.
+     */
+    List<EmployeeResponseDto> searchEmployeesRanked(String query, Integer limit, EmployeeFields fields);
+
+    List<EmployeeSuggestionDto> autocompleteEmployees(String prefix, Integer limit);
+
+    EmployeeResponseDto getEmployeeByEmail(String email, EmployeeFields fields);
+
+    void exportEmployees(Consumer<EmployeeResponseDto> consumer);
 
-    List<EmployeeResponseDto> searchEmployeesByName(String name);
+    /**
+     * Headcount and salary statistics of every department with employees, read from the
+     * maintained summaries. Percentiles are aggregated over the employees table on request.
+     */
+    List<DepartmentStatisticsDto> getDepartmentStatistics(boolean percentiles);
 
-    EmployeeResponseDto getEmployeeByEmail(String email);
+    DepartmentStatisticsDto getDepartmentStatistics(Long departmentId, boolean percentiles);
 }
@@ -1,36 +1,87 @@
 package com.wassefchargui.employee_service.service.impl;
 
-import com.wassefchargui.employee_service.client.DepartmentClient;
+import com.wassefchargui.common.pagination.InvalidPageRequestException;
+import com.wassefchargui.common.pagination.PageCursor;
+import com.wassefchargui.common.pagination.PaginationProperties;
+import com.wassefchargui.employee_service.client.DepartmentCache;
+import com.wassefchargui.employee_service.config.imports.BulkImportProperties;
+import com.wassefchargui.employee_service.config.search.SearchProperties;
+import com.wassefchargui.employee_service.dto.BulkImportErrorDto;
+import com.wassefchargui.employee_service.dto.BulkImportResponseDto;
+import com.wassefchargui.employee_service.dto.CursorPageResponseDto;
 import com.wassefchargui.employee_service.dto.DepartmentDto;
+import com.wassefchargui.employee_service.dto.DepartmentStatisticsDto;
 import com.wassefchargui.employee_service.dto.EmployeeRequestDto;
 import com.wassefchargui.employee_service.dto.EmployeeResponseDto;
+import com.wassefchargui.employee_service.dto.EmployeeSuggestionDto;
+import com.wassefchargui.employee_service.dto.EmployeeVersionDto;
+import com.wassefchargui.employee_service.entity.DepartmentSalarySummary;
 import com.wassefchargui.employee_service.entity.Employee;
+import com.wassefchargui.employee_service.exception.BulkImportTooLargeException;
 import com.wassefchargui.employee_service.exception.DepartmentNotFoundException;
 import com.wassefchargui.employee_service.exception.DepartmentServiceException;
 import com.wassefchargui.employee_service.exception.EmployeeAlreadyExistsException;
 import com.wassefchargui.employee_service.exception.EmployeeNotFoundException;
+import com.wassefchargui.employee_service.exception.VersionMismatchException;
+import com.wassefchargui.employee_service.fieldset.EmployeeFields;
 import com.wassefchargui.employee_service.mapper.EmployeeMapper;
+import com.wassefchargui.employee_service.pagination.EmployeeSort;
+import com.wassefchargui.employee_service.repository.DepartmentSalaryPercentiles;
 import com.wassefchargui.employee_service.repository.EmployeeRepository;
+import com.wassefchargui.employee_service.repository.EmployeeSpecifications;
+import com.wassefchargui.employee_service.repository.EmployeeVersion;
+import com.wassefchargui.employee_service.search.EmployeeSearch;
 import com.wassefchargui.employee_service.service.EmployeeService;
+import com.wassefchargui.employee_service.statistics.DepartmentSalarySummaries;
 import feign.FeignException;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 @Transactional
+@Timed(value = "app.service", description = "Service method invocations")
+@EnableConfigurationProperties({PaginationProperties.class, SearchProperties.class, BulkImportProperties.class})
 public class EmployeeServiceImpl implements EmployeeService {
 
+    private static final int IMPORT_CHUNK_SIZE = 1000;
+
     private final EmployeeRepository employeeRepository;
     private final EmployeeMapper employeeMapper;
-    private final DepartmentClient departmentClient;
+    private final DepartmentCache departmentCache;
+    private final PaginationProperties paginationProperties;
+    private final EmployeeSearch employeeSearch;
+    private final SearchProperties searchProperties;
+    private final BulkImportProperties bulkImportProperties;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final DepartmentSalarySummaries salarySummaries;
 
     @Override
     public EmployeeResponseDto createEmployee(EmployeeRequestDto requestDto) {
@@ -48,40 +99,157 @@ public class EmployeeServiceImpl implements EmployeeService {
         }
 
         Employee savedEmployee = employeeRepository.save(employee);
+        salarySummaries.added(savedEmployee);
 
         log.info("Employee created successfully with id: {}", savedEmployee.getId());
         return buildEmployeeResponse(savedEmployee);
     }
 
+    @Override
+    public BulkImportResponseDto importEmployees(List<EmployeeRequestDto> requestDtos) {
+        log.info("Importing {} employees", requestDtos.size());
+        if (requestDtos.size() > bulkImportProperties.getMaxRows()) {
+            throw new BulkImportTooLargeException(requestDtos.size(), bulkImportProperties.getMaxRows());
+        }
+
+        List<BulkImportErrorDto> errors = new ArrayList<>();
+        Map<Integer, EmployeeRequestDto> candidates = new LinkedHashMap<>();
+        Set<String> seenEmails = new HashSet<>();
+        for (int index = 0; index < requestDtos.size(); index++) {
+            EmployeeRequestDto requestDto = requestDtos.get(index);
+            Set<ConstraintViolation<EmployeeRequestDto>> violations = validator.validate(requestDto);
+            if (!violations.isEmpty()) {
+                String message = violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", "));
+                errors.add(importError(index, requestDto, message));
+            } else if (!seenEmails.add(requestDto.getEmail())) {
+                errors.add(importError(index, requestDto, "Duplicate email '" + requestDto.getEmail() + "' in request"));
+            } else {
+                candidates.put(index, requestDto);
+            }
+        }
+
+        Set<String> existingEmails = new HashSet<>();
+        partition(List.copyOf(seenEmails), IMPORT_CHUNK_SIZE)
+                .forEach(emails -> existingEmails.addAll(employeeRepository.findEmailsIn(emails)));
+
+        Map<Long, DepartmentDto> departments = validateDepartmentsExist(candidates.values().stream()
+                .map(EmployeeRequestDto::getDepartmentId)
+                .collect(Collectors.toSet()));
+
+        List<Employee> employees = new ArrayList<>();
+        candidates.forEach((index, requestDto) -> {
+            if (existingEmails.contains(requestDto.getEmail())) {
+                errors.add(importError(index, requestDto, "Employee with email '" + requestDto.getEmail() + "' already exists"));
+            } else if (!departments.containsKey(requestDto.getDepartmentId())) {
+                errors.add(importError(index, requestDto, "Department not found with id: " + requestDto.getDepartmentId()));
+            } else {
+                Employee employee = employeeMapper.toEntity(requestDto);
+                if (employee.getHireDate() == null) {
+                    employee.setHireDate(LocalDate.now());
+                }
+                employees.add(employee);
+            }
+        });
+
+        // flush and clear per chunk so the persistence context stays small and inserts go out as JDBC batches
+        partition(employees, IMPORT_CHUNK_SIZE).forEach(chunk -> {
+            employeeRepository.saveAll(chunk);
+            salarySummaries.added(chunk);
+            entityManager.flush();
+            entityManager.clear();
+        });
+
+        errors.sort(Comparator.comparingInt(BulkImportErrorDto::getIndex));
+        log.info("Imported {} employees, rejected {}", employees.size(), errors.size());
+        return BulkImportResponseDto.builder()
+                .received(requestDtos.size())
+                .imported(employees.size())
+                .errors(errors)
+                .build();
+    }
+
     @Override
     @Transactional(readOnly = true)
-    public EmployeeResponseDto getEmployeeById(Long id) {
+    public EmployeeResponseDto getEmployeeById(Long id, EmployeeFields fields) {
         log.info("Fetching employee with id: {}", id);
 
-        Employee employee = employeeRepository.findById(id)
+        EmployeeResponseDto employee = (fields.isAll()
+                ? employeeRepository.findResponseById(id)
+                : findOneSparse(fields, EmployeeSpecifications.hasId(id)))
                 .orElseThrow(() -> new EmployeeNotFoundException(id));
 
-        return buildEmployeeResponse(employee);
+        return fields.includesDepartment() ? withDepartment(employee) : employee;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<EmployeeResponseDto> getAllEmployees() {
-        log.info("Fetching all employees");
+    public EmployeeVersionDto getEmployeeVersion(Long id) {
+        EmployeeVersion employeeVersion = employeeRepository.findVersionById(id)
+                .orElseThrow(() -> new EmployeeNotFoundException(id));
 
-        List<Employee> employees = employeeRepository.findAll();
-        return employees.stream()
-                .map(this::buildEmployeeResponse)
-                .toList();
+        Long departmentVersion = null;
+        try {
+            departmentVersion = departmentCache.getDepartmentById(employeeVersion.departmentId())
+                    .map(DepartmentDto::getVersion)
+                    .orElse(null);
+        } catch (FeignException ex) {
+            log.warn("Could not fetch department version for employee {}: {}", id, ex.getMessage());
+        }
+        return new EmployeeVersionDto(employeeVersion.version(), departmentVersion);
     }
 
     @Override
-    public EmployeeResponseDto updateEmployee(Long id, EmployeeRequestDto requestDto) {
+    @Transactional(readOnly = true)
+    public CursorPageResponseDto<EmployeeResponseDto> getAllEmployees(String cursor, Integer size, String sort,
+                                                                      EmployeeFields fields) {
+        EmployeeSort employeeSort = EmployeeSort.fromParameter(sort);
+        int pageSize = paginationProperties.resolvePageSize(size);
+        log.info("Fetching employees page of size {} sorted by {}", pageSize, employeeSort.getParameter());
+
+        PageCursor after = employeeSort.decodeCursor(cursor);
+        Limit limit = Limit.of(pageSize + 1);
+        List<EmployeeResponseDto> employees = fields.isAll() ? switch (employeeSort) {
+            case ID -> after == null
+                    ? employeeRepository.findResponsesOrderByIdAsc(limit)
+                    : employeeRepository.findResponsesAfterIdOrderByIdAsc(after.lastId(), limit);
+            case LAST_NAME -> after == null
+                    ? employeeRepository.findResponsesOrderByLastNameAscIdAsc(limit)
+                    : employeeRepository.findResponsesAfterLastName(after.lastValue(), after.lastId(), limit);
+        } : employeeRepository.findSparse(
+                fields.attributes(employeeSort.keyAttributes()),
+                after == null ? null : switch (employeeSort) {
+                    case ID -> EmployeeSpecifications.idAfter(after.lastId());
+                    case LAST_NAME -> EmployeeSpecifications.afterLastName(after.lastValue(), after.lastId());
+                },
+                employeeSort.getOrder(),
+                limit);
+
+        boolean hasNext = employees.size() > pageSize;
+        List<EmployeeResponseDto> page = hasNext ? employees.subList(0, pageSize) : employees;
+        String nextCursor = hasNext ? employeeSort.cursorAfter(page.get(page.size() - 1)).encode() : null;
+
+        return CursorPageResponseDto.<EmployeeResponseDto>builder()
+                .content(fields.includesDepartment() ? withDepartments(page) : page)
+                .size(page.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Override
+    public EmployeeResponseDto updateEmployee(Long id, EmployeeRequestDto requestDto, Long expectedVersion) {
         log.info("Updating employee with id: {}", id);
 
         Employee existingEmployee = employeeRepository.findById(id)
                 .orElseThrow(() -> new EmployeeNotFoundException(id));
 
+        if (expectedVersion != null && !expectedVersion.equals(existingEmployee.getVersion())) {
+            throw new VersionMismatchException(id, expectedVersion, existingEmployee.getVersion());
+        }
+
         if (!existingEmployee.getEmail().equals(requestDto.getEmail()) &&
             employeeRepository.existsByEmail(requestDto.getEmail())) {
             throw new EmployeeAlreadyExistsException("Employee with email '" + requestDto.getEmail() + "' already exists");
@@ -91,8 +259,16 @@ public class EmployeeServiceImpl implements EmployeeService {
             validateDepartmentExists(requestDto.getDepartmentId());
         }
 
+        Long previousDepartmentId = existingEmployee.getDepartmentId();
+        Double previousSalary = existingEmployee.getSalary();
         employeeMapper.updateEntityFromDto(requestDto, existingEmployee);
-        Employee updatedEmployee = employeeRepository.save(existingEmployee);
+        // flush so that the returned DTO carries the incremented version
+        Employee updatedEmployee = employeeRepository.saveAndFlush(existingEmployee);
+        if (!previousDepartmentId.equals(updatedEmployee.getDepartmentId())
+                || !Objects.equals(previousSalary, updatedEmployee.getSalary())) {
+            salarySummaries.removed(previousDepartmentId, previousSalary);
+            salarySummaries.added(updatedEmployee);
+        }
 
         log.info("Employee updated successfully with id: {}", updatedEmployee.getId());
         return buildEmployeeResponse(updatedEmployee);
@@ -102,74 +278,230 @@ public class EmployeeServiceImpl implements EmployeeService {
     public void deleteEmployee(Long id) {
         log.info("Deleting employee with id: {}", id);
 
-        if (!employeeRepository.existsById(id)) {
-            throw new EmployeeNotFoundException(id);
-        }
+        Employee employee = employeeRepository.findById(id)
+                .orElseThrow(() -> new EmployeeNotFoundException(id));
 
-        employeeRepository.deleteById(id);
+        employeeRepository.delete(employee);
+        salarySummaries.removed(employee.getDepartmentId(), employee.getSalary());
         log.info("Employee deleted successfully with id: {}", id);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<EmployeeResponseDto> getEmployeesByDepartmentId(Long departmentId) {
+    public List<EmployeeResponseDto> getEmployeesByDepartmentId(Long departmentId, EmployeeFields fields) {
         log.info("Fetching employees for department id: {}", departmentId);
 
-        validateDepartmentExists(departmentId);
+        DepartmentDto department = validateDepartmentExists(departmentId);
 
-        List<Employee> employees = employeeRepository.findByDepartmentId(departmentId);
-        return employees.stream()
-                .map(this::buildEmployeeResponse)
-                .toList();
+        List<EmployeeResponseDto> employees = fields.isAll()
+                ? employeeRepository.findResponsesByDepartmentId(departmentId)
+                : findSparse(fields, EmployeeSpecifications.inDepartment(departmentId));
+        if (fields.includesDepartment()) {
+            employees.forEach(employee -> employee.setDepartment(department));
+        }
+        return employees;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<EmployeeResponseDto> searchEmployeesByName(String name) {
+    public List<EmployeeResponseDto> searchEmployeesByName(String name, EmployeeFields fields) {
         log.info("Searching employees by name: {}", name);
 
-        List<Employee> employees = employeeRepository
-                .findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(name, name);
+        List<EmployeeResponseDto> employees = fields.isAll()
+                ? employeeRepository.findResponsesByName(name)
+                : findSparse(fields, EmployeeSpecifications.nameContains(name));
+        return fields.includesDepartment() ? withDepartments(employees) : employees;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeResponseDto> searchEmployeesRanked(String query, Integer limit, EmployeeFields fields) {
+        log.info("Ranked search of employees for: {}", query);
+
+        List<EmployeeResponseDto> employees = employeeSearch.search(query, resolveSearchLimit(limit)).stream()
+                .map(employeeMapper::toResponseDto)
+                .toList();
+        return fields.includesDepartment() ? withDepartments(employees) : employees;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeSuggestionDto> autocompleteEmployees(String prefix, Integer limit) {
+        log.info("Autocomplete of employees for: {}", prefix);
 
-        return employees.stream()
-                .map(this::buildEmployeeResponse)
+        return employeeSearch.autocomplete(prefix, resolveSearchLimit(limit)).stream()
+                .map(employeeMapper::toSuggestionDto)
                 .toList();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public EmployeeResponseDto getEmployeeByEmail(String email) {
+    public EmployeeResponseDto getEmployeeByEmail(String email, EmployeeFields fields) {
         log.info("Fetching employee with email: {}", email);
 
-        Employee employee = employeeRepository.findByEmail(email)
+        EmployeeResponseDto employee = (fields.isAll()
+                ? employeeRepository.findResponseByEmail(email)
+                : findOneSparse(fields, EmployeeSpecifications.hasEmail(email)))
                 .orElseThrow(() -> new EmployeeNotFoundException("Employee not found with email: " + email));
 
-        return buildEmployeeResponse(employee);
+        return fields.includesDepartment() ? withDepartment(employee) : employee;
     }
 
-    private void validateDepartmentExists(Long departmentId) {
+    @Override
+    @Transactional(readOnly = true)
+    public void exportEmployees(Consumer<EmployeeResponseDto> consumer) {
+        log.info("Exporting all employees");
+
+        Map<Long, DepartmentDto> departments = fetchDepartments(employeeRepository.findDistinctDepartmentIds());
+
+        try (Stream<EmployeeResponseDto> employees = employeeRepository.streamResponsesOrderByIdAsc()) {
+            employees.forEach(employee -> {
+                employee.setDepartment(departments.get(employee.getDepartmentId()));
+                consumer.accept(employee);
+            });
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DepartmentStatisticsDto> getDepartmentStatistics(boolean percentiles) {
+        log.info("Fetching statistics of all departments");
+
+        Map<Long, DepartmentSalaryPercentiles> salaryPercentiles = percentiles
+                ? employeeRepository.findSalaryPercentiles().stream()
+                        .collect(Collectors.toMap(DepartmentSalaryPercentiles::departmentId, Function.identity()))
+                : Map.of();
+
+        return salarySummaries.findAll().stream()
+                .map(summary -> toStatisticsDto(summary, salaryPercentiles.get(summary.getDepartmentId())))
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DepartmentStatisticsDto getDepartmentStatistics(Long departmentId, boolean percentiles) {
+        log.info("Fetching statistics of department id: {}", departmentId);
+
+        DepartmentSalarySummary summary = salarySummaries.findByDepartmentId(departmentId)
+                .orElseGet(() -> DepartmentSalarySummary.builder().departmentId(departmentId).build());
+        DepartmentSalaryPercentiles salaryPercentiles = percentiles
+                ? employeeRepository.findSalaryPercentilesByDepartmentId(departmentId).orElse(null)
+                : null;
+
+        return toStatisticsDto(summary, salaryPercentiles);
+    }
+
+    private static DepartmentStatisticsDto toStatisticsDto(DepartmentSalarySummary summary,
+                                                           DepartmentSalaryPercentiles percentiles) {
+        return DepartmentStatisticsDto.builder()
+                .departmentId(summary.getDepartmentId())
+                .headcount(summary.getHeadcount())
+                .minSalary(summary.getMinSalary())
+                .averageSalary(summary.getSalaryCount() == 0 ? null : summary.getSalarySum() / summary.getSalaryCount())
+                .maxSalary(summary.getMaxSalary())
+                .medianSalary(percentiles == null ? null : percentiles.p50())
+                .p90Salary(percentiles == null ? null : percentiles.p90())
+                .p99Salary(percentiles == null ? null : percentiles.p99())
+                .build();
+    }
+
+    private static BulkImportErrorDto importError(int index, EmployeeRequestDto requestDto, String message) {
+        return BulkImportErrorDto.builder()
+                .index(index)
+                .email(requestDto.getEmail())
+                .message(message)
+                .build();
+    }
+
+    private static <T> List<List<T>> partition(List<T> items, int chunkSize) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            chunks.add(items.subList(from, Math.min(from + chunkSize, items.size())));
+        }
+        return chunks;
+    }
+
+    private int resolveSearchLimit(Integer limit) {
+        if (limit == null) {
+            return searchProperties.getDefaultLimit();
+        }
+        if (limit < 1) {
+            throw new InvalidPageRequestException("Limit must be positive");
+        }
+        return Math.min(limit, searchProperties.getMaxLimit());
+    }
+
+    private DepartmentDto validateDepartmentExists(Long departmentId) {
         try {
             log.info("Validating department exists with id: {}", departmentId);
-            departmentClient.getDepartmentById(departmentId);
-        } catch (FeignException.NotFound ex) {
-            log.error("Department not found with id: {}", departmentId);
-            throw new DepartmentNotFoundException(departmentId);
+            return departmentCache.getDepartmentById(departmentId)
+                    .orElseThrow(() -> {
+                        log.error("Department not found with id: {}", departmentId);
+                        return new DepartmentNotFoundException(departmentId);
+                    });
         } catch (FeignException ex) {
             log.error("Error communicating with department service: {}", ex.getMessage());
             throw new DepartmentServiceException("Unable to validate department. Please try again later.", ex);
         }
     }
 
+    private Map<Long, DepartmentDto> validateDepartmentsExist(Set<Long> departmentIds) {
+        if (departmentIds.isEmpty()) {
+            return Map.of();
+        }
+
+        try {
+            log.info("Validating {} departments exist", departmentIds.size());
+            return departmentCache.getDepartmentsByIds(departmentIds);
+        } catch (FeignException ex) {
+            log.error("Error communicating with department service: {}", ex.getMessage());
+            throw new DepartmentServiceException("Unable to validate departments. Please try again later.", ex);
+        }
+    }
+
     private EmployeeResponseDto buildEmployeeResponse(Employee employee) {
-        EmployeeResponseDto responseDto = employeeMapper.toResponseDto(employee);
+        return withDepartment(employeeMapper.toResponseDto(employee));
+    }
 
+    private EmployeeResponseDto withDepartment(EmployeeResponseDto responseDto) {
         try {
-            DepartmentDto department = departmentClient.getDepartmentById(employee.getDepartmentId());
-            responseDto.setDepartment(department);
+            departmentCache.getDepartmentById(responseDto.getDepartmentId())
+                    .ifPresent(responseDto::setDepartment);
         } catch (FeignException ex) {
-            log.warn("Could not fetch department information for employee {}: {}", employee.getId(), ex.getMessage());
+            log.warn("Could not fetch department information for employee {}: {}", responseDto.getId(), ex.getMessage());
         }
 
         return responseDto;
     }
+
+    private List<EmployeeResponseDto> withDepartments(List<EmployeeResponseDto> responseDtos) {
+        Set<Long> departmentIds = responseDtos.stream()
+                .map(EmployeeResponseDto::getDepartmentId)
+                .collect(Collectors.toSet());
+        Map<Long, DepartmentDto> departments = fetchDepartments(departmentIds);
+
+        responseDtos.forEach(responseDto -> responseDto.setDepartment(departments.get(responseDto.getDepartmentId())));
+        return responseDtos;
+    }
+
+    private List<EmployeeResponseDto> findSparse(EmployeeFields fields, Specification<Employee> where) {
+        return employeeRepository.findSparse(fields.attributes("id"), where, Sort.by("id"), Limit.unlimited());
+    }
+
+    /**
+     * Also reads the version, which the ETag of a single employee is made of.
+     */
+    private Optional<EmployeeResponseDto> findOneSparse(EmployeeFields fields, Specification<Employee> where) {
+        return employeeRepository.findSparse(fields.attributes("id", "version"), where, Sort.unsorted(), Limit.of(1))
+                .stream()
+                .findFirst();
+    }
+
+    private Map<Long, DepartmentDto> fetchDepartments(Set<Long> departmentIds) {
+        if (departmentIds.isEmpty()) {
+            return Map.of();
+        }
+
+        return departmentCache.findDepartmentsByIds(departmentIds);
+    }
 }
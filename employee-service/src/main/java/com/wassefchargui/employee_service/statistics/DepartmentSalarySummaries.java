@@ -0,0 +1,79 @@
+package com.wassefchargui.employee_service.statistics;
+
+import com.wassefchargui.employee_service.entity.DepartmentSalarySummary;
+import com.wassefchargui.employee_service.entity.Employee;
+import com.wassefchargui.employee_service.repository.DepartmentSalarySummaryRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.DoubleSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains one {@link DepartmentSalarySummary} per department, applying each employee change as
+ * a delta within the caller's transaction. Additions and removals are single atomic updates; the
+ * salary range is only recomputed from the employees table when a removed salary was at one of its
+ * ends, after flushing the pending employee changes so that the recomputation no longer sees the
+ * removed employee.
+ *
+ * <p>Summaries of the employees that existed before are filled by
+ * {@code db/department-salary-summaries.sql}, which every instance runs at startup.
+ */
+@Component
+@Transactional
+@RequiredArgsConstructor
+public class DepartmentSalarySummaries {
+
+    private final DepartmentSalarySummaryRepository repository;
+    private final EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public List<DepartmentSalarySummary> findAll() {
+        return repository.findByHeadcountGreaterThanOrderByDepartmentIdAsc(0);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<DepartmentSalarySummary> findByDepartmentId(Long departmentId) {
+        return repository.findById(departmentId);
+    }
+
+    public void added(Employee employee) {
+        added(List.of(employee));
+    }
+
+    public void added(Collection<Employee> employees) {
+        Map<Long, List<Employee>> byDepartment = employees.stream()
+                .collect(Collectors.groupingBy(Employee::getDepartmentId));
+        byDepartment.forEach((departmentId, departmentEmployees) -> {
+            DoubleSummaryStatistics salaries = departmentEmployees.stream()
+                    .map(Employee::getSalary)
+                    .filter(Objects::nonNull)
+                    .mapToDouble(Double::doubleValue)
+                    .summaryStatistics();
+            boolean salaried = salaries.getCount() > 0;
+            Double minSalary = salaried ? salaries.getMin() : null;
+            Double maxSalary = salaried ? salaries.getMax() : null;
+            if (repository.add(departmentId, departmentEmployees.size(), salaries.getCount(),
+                    salaries.getSum(), minSalary, maxSalary) == 0) {
+                repository.insertEmptyIfAbsent(departmentId);
+                repository.add(departmentId, departmentEmployees.size(), salaries.getCount(),
+                        salaries.getSum(), minSalary, maxSalary);
+            }
+        });
+    }
+
+    public void removed(Long departmentId, Double salary) {
+        entityManager.flush();
+        repository.remove(departmentId, salary);
+        if (salary != null) {
+            repository.recomputeSalaryRange(departmentId, salary);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+-- Per-department headcount and salary totals (DepartmentSalarySummary), filled from the employees
+-- that already exist. The service only applies deltas from then on, so the fill must run before
+-- any instance writes to the table. Idempotent. Runs on every startup: in dev after Hibernate's
+-- schema update (see employee-service-dev.yml), in prod before Hibernate validates the schema
+-- (see employee-service-prod.yml).
+
+create table if not exists department_salary_summaries (
+    department_id bigint not null primary key,
+    headcount bigint not null,
+    salary_count bigint not null,
+    salary_sum double precision not null,
+    min_salary double precision,
+    max_salary double precision
+);
+
+-- departments that already have a summary are kept as they are: it is maintained by the service
+insert into department_salary_summaries (department_id, headcount, salary_count, salary_sum, min_salary, max_salary)
+select department_id, count(*), count(salary), coalesce(sum(salary), 0), min(salary), max(salary)
+from employees
+where department_id is not null
+group by department_id
+on conflict do nothing;
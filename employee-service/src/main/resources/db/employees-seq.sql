@@ -0,0 +1,13 @@
+-- Sequence behind Employee ids (allocationSize 50, hence increment by 50), moved past the ids
+-- already in the table: those handed out by the former identity column, or inserted by hand.
+-- Idempotent. Runs on every startup: in dev after Hibernate's schema update (see
+-- employee-service-dev.yml), in prod before Hibernate validates the schema (see
+-- employee-service-prod.yml).
+
+create sequence if not exists employees_seq increment by 50;
+
+-- a fresh sequence would hand out ids from 1, colliding with existing rows; leave it alone once
+-- it is ahead of every id
+select setval('employees_seq', ids.max_id + 50)
+from (select coalesce(max(id), 0) as max_id from employees) ids, employees_seq
+where ids.max_id >= employees_seq.last_value;
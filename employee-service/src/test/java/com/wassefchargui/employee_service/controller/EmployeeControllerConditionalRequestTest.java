@@ -0,0 +1,116 @@
+package com.wassefchargui.employee_service.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wassefchargui.employee_service.dto.DepartmentDto;
+import com.wassefchargui.employee_service.dto.EmployeeRequestDto;
+import com.wassefchargui.employee_service.dto.EmployeeResponseDto;
+import com.wassefchargui.employee_service.dto.EmployeeVersionDto;
+import com.wassefchargui.employee_service.exception.GlobalExceptionHandler;
+import com.wassefchargui.employee_service.exception.VersionMismatchException;
+import com.wassefchargui.employee_service.fieldset.EmployeeFields;
+import com.wassefchargui.employee_service.service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The 304 and 412 paths of the employee endpoints, against a standalone controller so that no
+ * database, Feign client or Kafka is needed.
+ */
+class EmployeeControllerConditionalRequestTest {
+
+    private static final String EMPLOYEE = """
+            {"firstName":"John","lastName":"Doe","email":"john.doe@company.com",
+             "position":"Software Engineer","departmentId":1}
+            """;
+
+    private EmployeeService employeeService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        employeeService = mock(EmployeeService.class);
+        ObjectMapper objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .setFilterProvider(EmployeeFields.ALL.filters());
+        mockMvc = MockMvcBuilders.standaloneSetup(new EmployeeController(employeeService, objectMapper))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+                .build();
+    }
+
+    @Test
+    void returnsNotModifiedWithoutLoadingTheEmployee() throws Exception {
+        when(employeeService.getEmployeeVersion(1L)).thenReturn(new EmployeeVersionDto(3L, 1L));
+
+        mockMvc.perform(get("/api/v1/employees/1").header(HttpHeaders.IF_NONE_MATCH, "\"3.1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3.1\""));
+
+        verify(employeeService, never()).getEmployeeById(anyLong(), any());
+    }
+
+    @Test
+    void leavesTheDepartmentOutOfTheTagWhenNotSelected() throws Exception {
+        when(employeeService.getEmployeeVersion(1L)).thenReturn(new EmployeeVersionDto(3L, 1L));
+
+        mockMvc.perform(get("/api/v1/employees/1").param("fields", "id")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void returnsTheEmployeeWhenItsDepartmentChanged() throws Exception {
+        when(employeeService.getEmployeeVersion(1L)).thenReturn(new EmployeeVersionDto(3L, 2L));
+        when(employeeService.getEmployeeById(eq(1L), any())).thenReturn(EmployeeResponseDto.builder()
+                .id(1L)
+                .version(3L)
+                .department(new DepartmentDto(1L, "Engineering", 2L))
+                .build());
+
+        mockMvc.perform(get("/api/v1/employees/1").header(HttpHeaders.IF_NONE_MATCH, "\"3.1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3.2\""));
+    }
+
+    @Test
+    void updatesAtTheVersionOfTheIfMatchTag() throws Exception {
+        when(employeeService.updateEmployee(eq(1L), any(EmployeeRequestDto.class), eq(2L)))
+                .thenReturn(EmployeeResponseDto.builder().id(1L).version(3L).build());
+
+        mockMvc.perform(put("/api/v1/employees/1")
+                        .header(HttpHeaders.IF_MATCH, "\"2.1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(EMPLOYEE))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+    }
+
+    @Test
+    void failsThePreconditionOfAStaleIfMatchTag() throws Exception {
+        when(employeeService.updateEmployee(eq(1L), any(EmployeeRequestDto.class), eq(2L)))
+                .thenThrow(new VersionMismatchException(1L, 2L, 3L));
+
+        mockMvc.perform(put("/api/v1/employees/1")
+                        .header(HttpHeaders.IF_MATCH, "\"2.1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(EMPLOYEE))
+                .andExpect(status().isPreconditionFailed());
+    }
+}
@@ -0,0 +1,51 @@
+package com.wassefchargui.employee_service.controller;
+
+import com.wassefchargui.employee_service.dto.DepartmentDto;
+import com.wassefchargui.employee_service.dto.EmployeeResponseDto;
+import com.wassefchargui.employee_service.dto.EmployeeVersionDto;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EntityTagsTest {
+
+    @Test
+    void tagsTheEmployeeAndItsDepartment() {
+        EmployeeResponseDto employee = EmployeeResponseDto.builder()
+                .version(3L)
+                .department(new DepartmentDto(1L, "Engineering", 1L))
+                .build();
+
+        assertThat(EntityTags.of(employee)).isEqualTo("\"3.1\"");
+    }
+
+    @Test
+    void tagsOnlyTheEmployeeWithoutDepartment() {
+        EmployeeResponseDto employee = EmployeeResponseDto.builder().version(3L).build();
+
+        assertThat(EntityTags.of(employee)).isEqualTo("\"3\"");
+        assertThat(EntityTags.of(new EmployeeVersionDto(3L, 1L), false)).isEqualTo("\"3\"");
+        assertThat(EntityTags.of(new EmployeeVersionDto(3L, 1L), true)).isEqualTo("\"3.1\"");
+    }
+
+    @Test
+    void expectsNoVersionWithoutPrecondition() {
+        assertThat(EntityTags.expectedVersion(null)).isNull();
+        assertThat(EntityTags.expectedVersion(" ")).isNull();
+        assertThat(EntityTags.expectedVersion("*")).isNull();
+    }
+
+    @Test
+    void expectsTheEmployeePartOfTheTag() {
+        assertThat(EntityTags.expectedVersion("\"3.1\"")).isEqualTo(3L);
+        assertThat(EntityTags.expectedVersion("\"3\"")).isEqualTo(3L);
+    }
+
+    @Test
+    void expectsAnUnmatchableVersionForWeakOrMalformedTags() {
+        assertThat(EntityTags.expectedVersion("W/\"3\"")).isEqualTo(-1L);
+        assertThat(EntityTags.expectedVersion("3")).isEqualTo(-1L);
+        assertThat(EntityTags.expectedVersion("\"\"")).isEqualTo(-1L);
+        assertThat(EntityTags.expectedVersion("\"x\"")).isEqualTo(-1L);
+    }
+}
@@ -0,0 +1,82 @@
+package com.wassefchargui.employee_service.fieldset;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wassefchargui.employee_service.dto.EmployeeResponseDto;
+import com.wassefchargui.employee_service.exception.InvalidFieldSelectionException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmployeeFieldsTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void selectsEverythingWithoutParameter() {
+        assertThat(EmployeeFields.parse(null)).isSameAs(EmployeeFields.ALL);
+        assertThat(EmployeeFields.parse(" ")).isSameAs(EmployeeFields.ALL);
+        assertThat(EmployeeFields.parse(" , ")).isSameAs(EmployeeFields.ALL);
+        assertThat(EmployeeFields.ALL.includesDepartment()).isTrue();
+        assertThat(EmployeeFields.ALL.attributes()).doesNotContain("department").contains("departmentId");
+    }
+
+    @Test
+    void readsOnlyTheSelectedAttributes() {
+        EmployeeFields fields = EmployeeFields.parse("id, email");
+
+        assertThat(fields.isAll()).isFalse();
+        assertThat(fields.includesDepartment()).isFalse();
+        assertThat(fields.attributes()).containsExactlyInAnyOrder("id", "email");
+    }
+
+    @Test
+    void readsTheDepartmentIdToResolveTheDepartment() {
+        EmployeeFields fields = EmployeeFields.parse("id,department");
+
+        assertThat(fields.includesDepartment()).isTrue();
+        assertThat(fields.attributes()).containsExactlyInAnyOrder("id", "departmentId");
+    }
+
+    @Test
+    void readsTheAttributesTheCallerRequires() {
+        assertThat(EmployeeFields.parse("email").attributes("id", "lastName"))
+                .containsExactlyInAnyOrder("email", "id", "lastName");
+    }
+
+    @Test
+    void rejectsAnUnknownField() {
+        assertThatThrownBy(() -> EmployeeFields.parse("id,password"))
+                .isInstanceOf(InvalidFieldSelectionException.class)
+                .hasMessageContaining("password");
+    }
+
+    @Test
+    void serializesOnlyTheSelectedProperties() throws Exception {
+        EmployeeResponseDto employee = EmployeeResponseDto.builder()
+                .id(1L)
+                .firstName("John")
+                .email("john.doe@company.com")
+                .salary(75_000.0)
+                .build();
+
+        JsonNode json = objectMapper.readTree(objectMapper.writer(EmployeeFields.parse("id,email").filters())
+                .writeValueAsString(employee));
+
+        assertThat(json.properties()).extracting(Map.Entry::getKey).containsExactlyInAnyOrder("id", "email");
+    }
+
+    @Test
+    void serializesEverythingForAllFields() throws Exception {
+        EmployeeResponseDto employee = EmployeeResponseDto.builder().id(1L).salary(75_000.0).build();
+
+        JsonNode json = objectMapper.readTree(objectMapper.writer(EmployeeFields.ALL.filters())
+                .writeValueAsString(employee));
+
+        assertThat(json.has("salary")).isTrue();
+        assertThat(json.has("department")).isTrue();
+    }
+}
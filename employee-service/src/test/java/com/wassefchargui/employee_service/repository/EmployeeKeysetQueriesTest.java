@@ -0,0 +1,96 @@
+package com.wassefchargui.employee_service.repository;
+
+import com.wassefchargui.employee_service.dto.EmployeeResponseDto;
+import com.wassefchargui.employee_service.entity.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Walks the employees sorted by last name page by page, resuming after the last row of each page,
+ * through both keyset predicates: the row-value query and its criteria expansion. Duplicate last
+ * names make pages end in the middle of a run of equal values.
+ */
+@DataJpaTest(properties = "spring.cloud.config.enabled=false")
+class EmployeeKeysetQueriesTest {
+
+    private static final int PAGE_SIZE = 2;
+
+    @Autowired
+    private EmployeeRepository repository;
+
+    private List<Long> expectedIds;
+
+    @BeforeEach
+    void setUp() {
+        List<String> lastNames = List.of("Martin", "Dubois", "Martin", "Petit", "Martin", "Bernard", "Dubois");
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < lastNames.size(); i++) {
+            employees.add(Employee.builder()
+                    .firstName("First" + i)
+                    .lastName(lastNames.get(i))
+                    .email("employee" + i + "@company.com")
+                    .position("Software Engineer")
+                    .salary(50_000.0 + i)
+                    .hireDate(LocalDate.of(2024, 1, 15))
+                    .departmentId(1L)
+                    .build());
+        }
+        expectedIds = repository.saveAllAndFlush(employees).stream()
+                .sorted(Comparator.comparing(Employee::getLastName).thenComparing(Employee::getId))
+                .map(Employee::getId)
+                .toList();
+    }
+
+    @Test
+    void rowValueQueryResumesAfterTheLastRow() {
+        assertThat(walk((last, limit) -> last == null
+                ? repository.findResponsesOrderByLastNameAscIdAsc(limit)
+                : repository.findResponsesAfterLastName(last.getLastName(), last.getId(), limit)))
+                .containsExactlyElementsOf(expectedIds);
+    }
+
+    @Test
+    void criteriaPredicateResumesAfterTheLastRow() {
+        assertThat(walk((last, limit) -> repository.findSparse(Set.of("id", "lastName"),
+                last == null ? null : EmployeeSpecifications.afterLastName(last.getLastName(), last.getId()),
+                Sort.by("lastName", "id"), limit)))
+                .containsExactlyElementsOf(expectedIds);
+    }
+
+    /**
+     * Ids of every page fetched by {@code page}, given the last row of the previous page.
+     */
+    private List<Long> walk(BiFunction<EmployeeResponseDto, Limit, List<EmployeeResponseDto>> page) {
+        List<Long> ids = new ArrayList<>();
+        EmployeeResponseDto last = null;
+        List<EmployeeResponseDto> rows;
+        do {
+            rows = page.apply(last, Limit.of(PAGE_SIZE));
+            rows.forEach(row -> ids.add(row.getId()));
+            last = rows.isEmpty() ? null : rows.get(rows.size() - 1);
+        } while (rows.size() == PAGE_SIZE);
+        return ids;
+    }
+
+    @SpringBootConfiguration
+    @EntityScan(basePackageClasses = Employee.class)
+    @EnableJpaRepositories(basePackageClasses = EmployeeRepository.class)
+    static class Config {
+    }
+}
@@ -0,0 +1,92 @@
+package com.wassefchargui.employee_service.statistics;
+
+import com.wassefchargui.employee_service.entity.Employee;
+import com.wassefchargui.employee_service.repository.DepartmentSalarySummaryRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DepartmentSalarySummariesTest {
+
+    private DepartmentSalarySummaryRepository repository;
+    private EntityManager entityManager;
+    private DepartmentSalarySummaries summaries;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(DepartmentSalarySummaryRepository.class);
+        entityManager = mock(EntityManager.class);
+        summaries = new DepartmentSalarySummaries(repository, entityManager);
+    }
+
+    @Test
+    void addsOneDeltaPerDepartment() {
+        when(repository.add(anyLong(), anyLong(), anyLong(), anyDouble(), any(), any())).thenReturn(1);
+
+        summaries.added(List.of(
+                employee(1L, 40_000.0),
+                employee(1L, 60_000.0),
+                employee(1L, null),
+                employee(2L, null)));
+
+        verify(repository).add(1L, 3L, 2L, 100_000.0, 40_000.0, 60_000.0);
+        verify(repository).add(eq(2L), eq(1L), eq(0L), eq(0.0), isNull(), isNull());
+        verify(repository, never()).insertEmptyIfAbsent(any());
+    }
+
+    @Test
+    void createsTheSummaryOfANewDepartment() {
+        when(repository.add(3L, 1L, 1L, 50_000.0, 50_000.0, 50_000.0)).thenReturn(0, 1);
+
+        summaries.added(employee(3L, 50_000.0));
+
+        InOrder order = inOrder(repository);
+        order.verify(repository).add(3L, 1L, 1L, 50_000.0, 50_000.0, 50_000.0);
+        order.verify(repository).insertEmptyIfAbsent(3L);
+        order.verify(repository).add(3L, 1L, 1L, 50_000.0, 50_000.0, 50_000.0);
+        verify(repository, times(2)).add(anyLong(), anyLong(), anyLong(), anyDouble(), any(), any());
+    }
+
+    @Test
+    void flushesTheRemovalBeforeRecomputingTheSalaryRange() {
+        summaries.removed(1L, 40_000.0);
+
+        InOrder order = inOrder(entityManager, repository);
+        order.verify(entityManager).flush();
+        order.verify(repository).remove(1L, 40_000.0);
+        order.verify(repository).recomputeSalaryRange(1L, 40_000.0);
+    }
+
+    @Test
+    void recomputesTheSalaryRangeOnlyForARemovedSalary() {
+        summaries.removed(1L, 40_000.0);
+        summaries.removed(2L, null);
+
+        verify(repository).remove(1L, 40_000.0);
+        verify(repository).recomputeSalaryRange(1L, 40_000.0);
+        verify(repository).remove(2L, null);
+        verify(repository, never()).recomputeSalaryRange(eq(2L), any());
+    }
+
+    private static Employee employee(Long departmentId, Double salary) {
+        return Employee.builder()
+                .departmentId(departmentId)
+                .salary(salary)
+                .build();
+    }
+}
@@ -0,0 +1,35 @@
+package com.wassefchargui.gateway.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import org.springframework.core.io.buffer.DataBuffer;
+
+/** Copies a response body while it streams to the client, giving up past a size limit. */
+final class BodyCapture {
+
+  private final long limit;
+  private ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+  BodyCapture(long limit) {
+    this.limit = limit;
+  }
+
+  void append(DataBuffer buffer) {
+    if (out == null) {
+      return;
+    }
+    int length = buffer.readableByteCount();
+    if (out.size() + length > limit) {
+      out = null;
+      return;
+    }
+    byte[] bytes = new byte[length];
+    buffer.toByteBuffer(buffer.readPosition(), ByteBuffer.wrap(bytes), 0, length);
+    out.write(bytes, 0, length);
+  }
+
+  /** The captured body, or {@code null} if it exceeded the limit. */
+  byte[] bytes() {
+    return out == null ? null : out.toByteArray();
+  }
+}
@@ -0,0 +1,48 @@
+package com.wassefchargui.gateway.cache;
+
+import java.time.Duration;
+import java.time.Instant;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+
+/**
+ * A stored upstream response. Entries past {@code expiresAt} are stale: they are only served again
+ * after the backend confirmed them with a 304, which requires the ETag to come from the backend
+ * ({@code revalidatable}) rather than having been computed by the gateway.
+ */
+record CachedResponse(
+    HttpStatusCode status,
+    HttpHeaders headers,
+    byte[] body,
+    String etag,
+    boolean revalidatable,
+    Instant storedAt,
+    Instant expiresAt) {
+
+  private static final int HEADER_OVERHEAD = 64;
+
+  boolean isFresh(Instant now) {
+    return now.isBefore(expiresAt);
+  }
+
+  long ageSeconds(Instant now) {
+    return Math.max(0, Duration.between(storedAt, now).toSeconds());
+  }
+
+  CachedResponse revalidated(Instant now, Duration timeToLive) {
+    return new CachedResponse(
+        status, headers, body, etag, revalidatable, now, now.plus(timeToLive));
+  }
+
+  /** Approximate heap footprint, used to bound the cache by bytes rather than entries. */
+  int weight() {
+    int weight = body.length;
+    for (var header : headers.headerSet()) {
+      weight += HEADER_OVERHEAD + header.getKey().length();
+      for (String value : header.getValue()) {
+        weight += value.length();
+      }
+    }
+    return weight;
+  }
+}
@@ -0,0 +1,231 @@
+package com.wassefchargui.gateway.cache;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Collapses identical GETs that are in flight at the same time into one upstream call (single
+ * flight). The first request is forwarded; requests arriving with the same key before it completes
+ * wait for its response and receive a copy of status, headers and body.
+ *
+ * <pre>
+ * filters:
+ *   - name: ResponseCache
+ *   - name: RequestCoalescing
+ *     args:
+ *       include-principal: false
+ *   - name: CircuitBreaker
+ * </pre>
+ *
+ * <p>The key is route, path and query, {@code Accept} and {@code If-None-Match} (so revalidations
+ * from {@code ResponseCache} only coalesce with each other), plus the caller's principal when
+ * {@code include-principal} is set. Requests with {@code Cache-Control: no-cache} or {@code
+ * no-store} are never coalesced. When the shared response cannot be replayed (streamed, larger than
+ * {@code maximum-body-size}, or the first caller went away) waiting requests are forwarded
+ * themselves.
+ *
+ * <p>{@code gateway.coalescing.requests} counts requests per route and role (leader, follower,
+ * fallback); the collapse ratio is followers over the total. {@code gateway.coalescing.in.flight}
+ * is the number of keys currently being fetched.
+ */
+@Component
+public class RequestCoalescingGatewayFilterFactory
+    extends AbstractGatewayFilterFactory<RequestCoalescingGatewayFilterFactory.Config> {
+
+  /** Published to followers when the leader's response cannot be replayed. */
+  private static final SharedResponse NOT_SHARED = new SharedResponse(null, null, null);
+
+  private final Map<CoalescingKey, Sinks.One<SharedResponse>> inFlight = new ConcurrentHashMap<>();
+  private final MeterRegistry meterRegistry;
+
+  public RequestCoalescingGatewayFilterFactory(MeterRegistry meterRegistry) {
+    super(Config.class);
+    this.meterRegistry = meterRegistry;
+    meterRegistry.gaugeMapSize("gateway.coalescing.in.flight", List.of(), inFlight);
+  }
+
+  @Override
+  public List<String> shortcutFieldOrder() {
+    return List.of("includePrincipal", "maximumBodySize");
+  }
+
+  @Override
+  public GatewayFilter apply(Config config) {
+    return (exchange, chain) -> {
+      ServerHttpRequest request = exchange.getRequest();
+      String cacheControl = request.getHeaders().getCacheControl();
+      if (!HttpMethod.GET.equals(request.getMethod())
+          || (cacheControl != null
+              && (cacheControl.contains("no-cache") || cacheControl.contains("no-store")))) {
+        return chain.filter(exchange);
+      }
+      Route route = exchange.getRequiredAttribute(GATEWAY_ROUTE_ATTR);
+      String routeId = route.getId();
+
+      return key(exchange, routeId, config)
+          .flatMap(
+              key -> {
+                Sinks.One<SharedResponse> sink = Sinks.one();
+                Sinks.One<SharedResponse> leader = inFlight.putIfAbsent(key, sink);
+                if (leader != null) {
+                  return leader
+                      .asMono()
+                      .flatMap(
+                          shared -> {
+                            if (shared == NOT_SHARED) {
+                              record(routeId, "fallback");
+                              return chain.filter(exchange);
+                            }
+                            record(routeId, "follower");
+                            return replay(exchange.getResponse(), shared);
+                          });
+                }
+
+                record(routeId, "leader");
+                AtomicBoolean published = new AtomicBoolean();
+                Consumer<SharedResponse> publish =
+                    shared -> {
+                      inFlight.remove(key, sink);
+                      if (published.compareAndSet(false, true)) {
+                        sink.tryEmitValue(shared);
+                      }
+                    };
+                SharingResponse response =
+                    new SharingResponse(
+                        exchange.getResponse(), config.getMaximumBodySize().toBytes(), publish);
+                return chain
+                    .filter(exchange.mutate().response(response).build())
+                    .doFinally(signal -> publish.accept(NOT_SHARED));
+              });
+    };
+  }
+
+  private Mono<CoalescingKey> key(ServerWebExchange exchange, String routeId, Config config) {
+    ServerHttpRequest request = exchange.getRequest();
+    String query = request.getURI().getRawQuery();
+    String uri = request.getURI().getRawPath() + (query == null ? "" : "?" + query);
+    HttpHeaders headers = request.getHeaders();
+    String accept = Objects.toString(headers.getFirst(HttpHeaders.ACCEPT), "");
+    String ifNoneMatch = Objects.toString(headers.getFirst(HttpHeaders.IF_NONE_MATCH), "");
+    if (!config.isIncludePrincipal()) {
+      return Mono.just(new CoalescingKey(routeId, uri, accept, ifNoneMatch, ""));
+    }
+    return exchange
+        .getPrincipal()
+        .map(Principal::getName)
+        .defaultIfEmpty("")
+        .map(principal -> new CoalescingKey(routeId, uri, accept, ifNoneMatch, principal));
+  }
+
+  private static Mono<Void> replay(ServerHttpResponse response, SharedResponse shared) {
+    response.setStatusCode(shared.status());
+    response.getHeaders().putAll(shared.headers());
+    return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(shared.body())));
+  }
+
+  private void record(String routeId, String role) {
+    Counter.builder("gateway.coalescing.requests")
+        .description("Coalescable requests by role in their flight")
+        .tag("route", routeId)
+        .tag("role", role)
+        .register(meterRegistry)
+        .increment();
+  }
+
+  /** Publishes the leader's response once its body has been fully written. */
+  private static final class SharingResponse extends ServerHttpResponseDecorator {
+
+    private final long maximumBodySize;
+    private final Consumer<SharedResponse> publisher;
+
+    SharingResponse(
+        ServerHttpResponse delegate,
+        long maximumBodySize,
+        Consumer<SharedResponse> publisher) {
+      super(delegate);
+      this.maximumBodySize = maximumBodySize;
+      this.publisher = publisher;
+    }
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+      HttpStatusCode status = getStatusCode();
+      HttpHeaders headers = ResponseHeaders.replayable(getHeaders());
+      BodyCapture capture = new BodyCapture(maximumBodySize);
+      return super.writeWith(
+          Flux.from(body)
+              .doOnNext(capture::append)
+              .doOnComplete(
+                  () -> {
+                    byte[] bytes = capture.bytes();
+                    publisher.accept(
+                        bytes == null ? NOT_SHARED : new SharedResponse(status, headers, bytes)));
+                  }));
+    }
+
+    @Override
+    public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+      publisher.accept(NOT_SHARED);
+      return super.writeAndFlushWith(body);
+    }
+  }
+
+  private record CoalescingKey(
+      String routeId, String uri, String accept, String ifNoneMatch, String principal) {}
+
+  private record SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {}
+
+  public static class Config {
+
+    /**
+     * Whether only requests of the same authenticated user may share a response. Required when the
+     * backend tailors responses to the caller.
+     */
+    private boolean includePrincipal = true;
+
+    /** Responses larger than this are not shared; waiting requests are then forwarded. */
+    private DataSize maximumBodySize = DataSize.ofMegabytes(1);
+
+    public boolean isIncludePrincipal() {
+      return includePrincipal;
+    }
+
+    public void setIncludePrincipal(boolean includePrincipal) {
+      this.includePrincipal = includePrincipal;
+    }
+
+    public DataSize getMaximumBodySize() {
+      return maximumBodySize;
+    }
+
+    public void setMaximumBodySize(DataSize maximumBodySize) {
+      this.maximumBodySize = maximumBodySize;
+    }
+  }
+}
@@ -0,0 +1,391 @@
+package com.wassefchargui.gateway.cache;
+
+import com.wassefchargui.gateway.cache.ResponseCacheStore.CacheKey;
+import com.wassefchargui.gateway.cache.ResponseCacheStore.Result;
+import com.wassefchargui.gateway.cache.ResponseCacheStore.RouteMetrics;
+import java.security.Principal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Serves repeated GETs of a route from {@link ResponseCacheStore}. Place it first in the route's
+ * filters so that hits skip the circuit breaker and the backend altogether:
+ *
+ * <pre>
+ * filters:
+ *   - name: ResponseCache
+ *     args:
+ *       time-to-live: 5m
+ *       per-principal: false
+ *       group: departments
+ *       invalidates: employees
+ * </pre>
+ *
+ * <ul>
+ *   <li>Only 200 responses are stored. {@code Cache-Control: no-store}, {@code private} (on shared
+ *       routes) and {@code Set-Cookie} prevent storing; {@code s-maxage}/{@code max-age} override
+ *       the route's time to live and {@code no-cache} means "revalidate every time".
+ *   <li>Requests sent with {@code Cache-Control: no-store} bypass the cache, {@code no-cache} skips
+ *       the lookup but refreshes the entry.
+ *   <li>Expired entries with a backend ETag are revalidated with {@code If-None-Match}; a 304 from
+ *       the backend renews them without transferring the body again.
+ *   <li>Clients sending a matching {@code If-None-Match} get a 304 from the gateway.
+ *   <li>Entries belong to the route's {@code group} (its id by default), the resource it serves.
+ *       Routes serving the same resource share a group, and a successful non-GET request through
+ *       any of them drops the entries of the whole group, plus those of the groups listed in
+ *       {@code invalidates}: responses of other resources that embed this one.
+ * </ul>
+ *
+ * <p>Responses carry {@code X-Cache: HIT|REVALIDATED|MISS} and, when served from the cache, {@code
+ * Age}.
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory
+    extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+  static final String CACHE_STATUS_HEADER = "X-Cache";
+
+  private static final Set<HttpMethod> SAFE_METHODS =
+      Set.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS, HttpMethod.TRACE);
+
+  private final ResponseCacheStore store;
+
+  public ResponseCacheGatewayFilterFactory(ResponseCacheStore store) {
+    super(Config.class);
+    this.store = store;
+  }
+
+  @Override
+  public List<String> shortcutFieldOrder() {
+    return List.of("timeToLive", "perPrincipal");
+  }
+
+  @Override
+  public GatewayFilter apply(Config config) {
+    String group = config.getGroup() != null ? config.getGroup() : config.getRouteId();
+    Set<String> invalidated = new LinkedHashSet<>();
+    invalidated.add(group);
+    invalidated.addAll(config.getInvalidates());
+    RouteMetrics metrics = store.metrics(config.getRouteId());
+
+    return (exchange, chain) -> {
+      ServerHttpRequest request = exchange.getRequest();
+      if (!HttpMethod.GET.equals(request.getMethod())) {
+        return invalidateOnSuccess(exchange, chain, invalidated);
+      }
+      String cacheControl = request.getHeaders().getCacheControl();
+      if (hasDirective(cacheControl, "no-store")) {
+        metrics.record(Result.BYPASS);
+        return chain.filter(exchange);
+      }
+      boolean skipLookup = hasDirective(cacheControl, "no-cache");
+
+      return key(exchange, group, config)
+          .flatMap(
+              key -> {
+                Instant now = Instant.now();
+                CachedResponse cached = skipLookup ? null : store.get(key);
+                if (cached != null && cached.isFresh(now)) {
+                  metrics.record(Result.HIT);
+                  return serve(request, exchange.getResponse(), cached, now, metrics, "HIT");
+                }
+
+                CachedResponse revalidating =
+                    cached != null && cached.revalidatable() ? cached : null;
+                ServerHttpRequest forwarded =
+                    revalidating == null
+                        ? request
+                        : request
+                            .mutate()
+                            .headers(headers -> headers.setIfNoneMatch(revalidating.etag()))
+                            .build();
+                CachingResponse response =
+                    new CachingResponse(exchange, metrics, key, revalidating, config);
+                return chain.filter(
+                    exchange.mutate().request(forwarded).response(response).build());
+              });
+    };
+  }
+
+  private Mono<Void> invalidateOnSuccess(
+      ServerWebExchange exchange, GatewayFilterChain chain, Set<String> groups) {
+    if (SAFE_METHODS.contains(exchange.getRequest().getMethod())) {
+      return chain.filter(exchange);
+    }
+    return chain
+        .filter(exchange)
+        .then(
+            Mono.fromRunnable(
+                () -> {
+                  HttpStatusCode status = exchange.getResponse().getStatusCode();
+                  if (status != null && status.is2xxSuccessful()) {
+                    store.invalidateGroups(groups);
+                  }
+                }));
+  }
+
+  private Mono<CacheKey> key(ServerWebExchange exchange, String group, Config config) {
+    ServerHttpRequest request = exchange.getRequest();
+    String query = request.getURI().getRawQuery();
+    String uri = request.getURI().getRawPath() + (query == null ? "" : "?" + query);
+    String accept = Objects.toString(request.getHeaders().getFirst(HttpHeaders.ACCEPT), "");
+    if (!config.isPerPrincipal()) {
+      return Mono.just(new CacheKey(group, uri, accept, ""));
+    }
+    return exchange
+        .getPrincipal()
+        .map(Principal::getName)
+        .defaultIfEmpty("")
+        .map(principal -> new CacheKey(group, uri, accept, principal));
+  }
+
+  private Mono<Void> serve(
+      ServerHttpRequest request,
+      ServerHttpResponse response,
+      CachedResponse cached,
+      Instant now,
+      RouteMetrics metrics,
+      String cacheStatus) {
+    HttpHeaders headers = response.getHeaders();
+    headers.putAll(cached.headers());
+    headers.set(HttpHeaders.AGE, Long.toString(cached.ageSeconds(now)));
+    headers.set(CACHE_STATUS_HEADER, cacheStatus);
+
+    // a client sending a matching If-None-Match gets no body either way: nothing is saved
+    List<String> ifNoneMatch = request.getHeaders().getIfNoneMatch();
+    if (ifNoneMatch.contains(cached.etag()) || ifNoneMatch.contains("*")) {
+      response.setStatusCode(HttpStatus.NOT_MODIFIED);
+      headers.remove(HttpHeaders.CONTENT_LENGTH);
+      return response.setComplete();
+    }
+    response.setStatusCode(cached.status());
+    metrics.recordBytesSaved(cached.body().length);
+    return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+  }
+
+  /**
+   * How long a response may be served without revalidation, or {@code null} if it must not be
+   * stored at all.
+   */
+  private static Duration timeToLive(HttpHeaders headers, Config config) {
+    String cacheControl = headers.getCacheControl();
+    if (hasDirective(cacheControl, "no-store")
+        || (hasDirective(cacheControl, "private") && !config.isPerPrincipal())) {
+      return null;
+    }
+    if (hasDirective(cacheControl, "no-cache")) {
+      return Duration.ZERO;
+    }
+    Long maxAge = directiveSeconds(cacheControl, "s-maxage");
+    if (maxAge == null) {
+      maxAge = directiveSeconds(cacheControl, "max-age");
+    }
+    return maxAge != null ? Duration.ofSeconds(maxAge) : config.getTimeToLive();
+  }
+
+  private static boolean hasDirective(String cacheControl, String directive) {
+    return directiveValue(cacheControl, directive) != null;
+  }
+
+  private static Long directiveSeconds(String cacheControl, String directive) {
+    String value = directiveValue(cacheControl, directive);
+    if (value == null || value.isEmpty()) {
+      return null;
+    }
+    try {
+      return Math.max(0, Long.parseLong(value));
+    } catch (NumberFormatException ex) {
+      return null;
+    }
+  }
+
+  /** Returns the directive's value, {@code ""} for a directive without one, or {@code null}. */
+  private static String directiveValue(String cacheControl, String directive) {
+    if (cacheControl == null) {
+      return null;
+    }
+    for (String token : cacheControl.split(",")) {
+      String[] parts = token.trim().split("=", 2);
+      if (parts[0].equalsIgnoreCase(directive)) {
+        return parts.length == 2 ? parts[1].replace("\"", "").trim() : "";
+      }
+    }
+    return null;
+  }
+
+  /** Records the upstream response on its way to the client. */
+  private final class CachingResponse extends ServerHttpResponseDecorator {
+
+    private final ServerHttpRequest originalRequest;
+    private final RouteMetrics metrics;
+    private final CacheKey key;
+    private final CachedResponse revalidating;
+    private final Config config;
+
+    CachingResponse(
+        ServerWebExchange exchange,
+        RouteMetrics metrics,
+        CacheKey key,
+        CachedResponse revalidating,
+        Config config) {
+      super(exchange.getResponse());
+      this.originalRequest = exchange.getRequest();
+      this.metrics = metrics;
+      this.key = key;
+      this.revalidating = revalidating;
+      this.config = config;
+    }
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+      Instant now = Instant.now();
+      HttpStatusCode status = getStatusCode();
+      HttpHeaders headers = getHeaders();
+
+      if (revalidating != null && HttpStatus.NOT_MODIFIED.equals(status)) {
+        Duration timeToLive = timeToLive(headers, config);
+        CachedResponse renewed =
+            revalidating.revalidated(now, timeToLive != null ? timeToLive : Duration.ZERO);
+        store.put(key, renewed);
+        metrics.record(Result.REVALIDATED);
+        headers.clear();
+        return Flux.from(body)
+            .doOnNext(DataBufferUtils::release)
+            .then(serve(originalRequest, getDelegate(), renewed, now, metrics, "REVALIDATED"));
+      }
+
+      metrics.record(Result.MISS);
+      headers.set(CACHE_STATUS_HEADER, "MISS");
+      Duration timeToLive = timeToLive(headers, config);
+      if (!HttpStatus.OK.equals(status)
+          || timeToLive == null
+          || headers.containsKey(HttpHeaders.SET_COOKIE)
+          || headers.getVary().contains("*")
+          || headers.getContentLength() > store.maximumEntrySize()) {
+        return super.writeWith(body);
+      }
+
+      BodyCapture capture = new BodyCapture(store.maximumEntrySize());
+      return super.writeWith(
+          Flux.from(body)
+              .doOnNext(capture::append)
+              .doOnComplete(
+                  () -> {
+                    byte[] bytes = capture.bytes();
+                    if (bytes != null) {
+                      store.put(key, toCachedResponse(status, headers, bytes, now, timeToLive));
+                    }
+                  }));
+    }
+
+    private CachedResponse toCachedResponse(
+        HttpStatusCode status,
+        HttpHeaders headers,
+        byte[] body,
+        Instant now,
+        Duration timeToLive) {
+      HttpHeaders stored = ResponseHeaders.replayable(headers);
+      stored.remove(CACHE_STATUS_HEADER);
+      String etag = headers.getETag();
+      boolean revalidatable = etag != null;
+      if (etag == null) {
+        etag = "W/\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+      }
+      stored.setETag(etag);
+      stored.setContentLength(body.length);
+      return new CachedResponse(
+          status,
+          HttpHeaders.readOnlyHttpHeaders(stored),
+          body,
+          etag,
+          revalidatable,
+          now,
+          now.plus(timeToLive));
+    }
+  }
+
+  public static class Config implements HasRouteId {
+
+    private String routeId;
+
+    /** Default freshness of stored responses, unless the backend sends max-age. */
+    private Duration timeToLive = Duration.ofMinutes(1);
+
+    /** Whether responses differ per authenticated user and must be cached per principal. */
+    private boolean perPrincipal = true;
+
+    /**
+     * Resource the route serves; routes sharing a group are invalidated together. Defaults to the
+     * route id.
+     */
+    private String group;
+
+    /** Groups whose responses embed this route's resource, invalidated by its writes too. */
+    private List<String> invalidates = List.of();
+
+    @Override
+    public void setRouteId(String routeId) {
+      this.routeId = routeId;
+    }
+
+    @Override
+    public String getRouteId() {
+      return routeId;
+    }
+
+    public Duration getTimeToLive() {
+      return timeToLive;
+    }
+
+    public void setTimeToLive(Duration timeToLive) {
+      this.timeToLive = timeToLive;
+    }
+
+    public boolean isPerPrincipal() {
+      return perPrincipal;
+    }
+
+    public void setPerPrincipal(boolean perPrincipal) {
+      this.perPrincipal = perPrincipal;
+    }
+
+    public String getGroup() {
+      return group;
+    }
+
+    public void setGroup(String group) {
+      this.group = group;
+    }
+
+    public List<String> getInvalidates() {
+      return invalidates;
+    }
+
+    public void setInvalidates(List<String> invalidates) {
+      this.invalidates = invalidates;
+    }
+  }
+}
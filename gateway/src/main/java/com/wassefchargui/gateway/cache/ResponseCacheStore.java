@@ -0,0 +1,127 @@
+package com.wassefchargui.gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.wassefchargui.gateway.config.ResponseCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Byte-bounded store shared by every route using the {@code ResponseCache} filter.
+ *
+ * <p>Besides the {@code cache.*} metrics of the underlying Caffeine cache ({@code
+ * cache=gateway-responses}), publishes {@code gateway.response.cache.requests} tagged with route and
+ * result (hit, revalidated, miss, bypass) and {@code gateway.response.cache.bytes.saved}, the body
+ * bytes that did not have to be fetched from a backend.
+ */
+@Component
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCacheStore {
+
+  static final String CACHE_NAME = "gateway-responses";
+
+  private final Cache<CacheKey, CachedResponse> cache;
+  private final MeterRegistry meterRegistry;
+  private final long maximumEntrySize;
+
+  public ResponseCacheStore(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+    Duration staleRetention = properties.getStaleRetention();
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumWeight(properties.getMaximumSize().toBytes())
+            .weigher((CacheKey key, CachedResponse value) -> value.weight())
+            .expireAfter(
+                Expiry.writing(
+                    (CacheKey key, CachedResponse value) -> {
+                      Duration retention =
+                          Duration.between(Instant.now(), value.expiresAt())
+                              .plus(value.revalidatable() ? staleRetention : Duration.ZERO);
+                      return retention.isNegative() ? Duration.ZERO : retention;
+                    }))
+            .recordStats()
+            .build();
+    this.meterRegistry = meterRegistry;
+    this.maximumEntrySize = properties.getMaximumEntrySize().toBytes();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+  }
+
+  CachedResponse get(CacheKey key) {
+    return cache.getIfPresent(key);
+  }
+
+  void put(CacheKey key, CachedResponse response) {
+    cache.put(key, response);
+  }
+
+  /** Drops every entry of the given groups, e.g. after a successful write to their resource. */
+  void invalidateGroups(Collection<String> groups) {
+    cache.asMap().keySet().removeIf(key -> groups.contains(key.group()));
+  }
+
+  long maximumEntrySize() {
+    return maximumEntrySize;
+  }
+
+  /** Registers the meters of a route, once, when its filter is built. */
+  RouteMetrics metrics(String routeId) {
+    return new RouteMetrics(routeId, meterRegistry);
+  }
+
+  /**
+   * Identifies a cached representation. {@code group} is the resource the response was read from,
+   * shared by the routes serving it, so that a write through any of them invalidates them all.
+   * {@code principal} is empty for routes whose responses are the same for every caller.
+   */
+  record CacheKey(String group, String uri, String accept, String principal) {}
+
+  /** Outcome of a cacheable request. */
+  enum Result {
+    HIT,
+    REVALIDATED,
+    MISS,
+    BYPASS
+  }
+
+  /** Request and bytes-saved counters of one route. */
+  static final class RouteMetrics {
+
+    private final Map<Result, Counter> requests = new EnumMap<>(Result.class);
+    private final Counter bytesSaved;
+
+    private RouteMetrics(String routeId, MeterRegistry meterRegistry) {
+      for (Result result : Result.values()) {
+        requests.put(
+            result,
+            Counter.builder("gateway.response.cache.requests")
+                .description("Cacheable requests by outcome")
+                .tag("route", routeId)
+                .tag("result", result.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry));
+      }
+      this.bytesSaved =
+          Counter.builder("gateway.response.cache.bytes.saved")
+              .description("Response body bytes served without fetching them from a backend")
+              .baseUnit("bytes")
+              .tag("route", routeId)
+              .register(meterRegistry);
+    }
+
+    void record(Result result) {
+      requests.get(result).increment();
+    }
+
+    void recordBytesSaved(long bytes) {
+      bytesSaved.increment(bytes);
+    }
+  }
+}
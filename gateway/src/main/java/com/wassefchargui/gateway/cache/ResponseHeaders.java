@@ -0,0 +1,30 @@
+package com.wassefchargui.gateway.cache;
+
+import java.util.List;
+import java.util.Set;
+import org.springframework.http.HttpHeaders;
+
+/** Selects the upstream response headers that may be replayed to other clients. */
+final class ResponseHeaders {
+
+  private static final Set<String> NOT_REPLAYED =
+      Set.of(
+          HttpHeaders.CONNECTION,
+          HttpHeaders.TRANSFER_ENCODING,
+          HttpHeaders.SET_COOKIE,
+          HttpHeaders.DATE,
+          "Keep-Alive");
+
+  private ResponseHeaders() {}
+
+  static HttpHeaders replayable(HttpHeaders headers) {
+    HttpHeaders copy = new HttpHeaders();
+    headers.forEach(
+        (name, values) -> {
+          if (NOT_REPLAYED.stream().noneMatch(name::equalsIgnoreCase)) {
+            copy.put(name, List.copyOf(values));
+          }
+        });
+    return copy;
+  }
+}
@@ -0,0 +1,44 @@
+package com.wassefchargui.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Access to the actuator endpoints of the gateway and, through the discovery routes, of the
+ * services. Health and info are public; the Prometheus endpoints also accept {@link
+ * #scrapeAuthority}; everything else requires {@link #authority}.
+ *
+ * <p>Prometheus authenticates like any other client, with a token from the realm: the {@code
+ * prometheus} client of {@code kc-realm} is limited to the client credentials grant and to the
+ * {@code metrics} scope, and {@code prometheus/prometheus.yml} shows the matching scrape job.
+ */
+@ConfigurationProperties(prefix = "application.actuator")
+public class ActuatorSecurityProperties {
+
+  /**
+   * Authority a token must grant to reach the other actuator endpoints. Scopes of the token are
+   * mapped to {@code SCOPE_<scope>} authorities.
+   */
+  private String authority = "SCOPE_actuator";
+
+  /**
+   * Authority that is enough to scrape {@code /actuator/prometheus}, so that the scraper's
+   * credentials reach no other actuator endpoint.
+   */
+  private String scrapeAuthority = "SCOPE_metrics";
+
+  public String getAuthority() {
+    return authority;
+  }
+
+  public void setAuthority(String authority) {
+    this.authority = authority;
+  }
+
+  public String getScrapeAuthority() {
+    return scrapeAuthority;
+  }
+
+  public void setScrapeAuthority(String scrapeAuthority) {
+    this.scrapeAuthority = scrapeAuthority;
+  }
+}
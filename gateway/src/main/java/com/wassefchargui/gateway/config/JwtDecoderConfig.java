@@ -0,0 +1,74 @@
+package com.wassefchargui.gateway.config;
+
+import com.wassefchargui.gateway.security.CachingReactiveJwtDecoder;
+import com.wassefchargui.gateway.security.JwkSetRefresher;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.interfaces.RSAPublicKey;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.OAuth2ResourceServerProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.converter.RsaKeyConverters;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Replaces Spring Boot's JWT decoder so that verified tokens are cached and the issuer is neither
+ * contacted at startup nor on every key lookup. Keys come from, in order of precedence, {@code
+ * public-key-location} (used by the load test), {@code jwk-set-uri}, or the {@code issuer-uri}'s
+ * discovery document.
+ */
+@Configuration
+@EnableConfigurationProperties({JwtVerificationProperties.class, OAuth2ResourceServerProperties.class})
+public class JwtDecoderConfig {
+
+  @Bean(initMethod = "start", destroyMethod = "stop")
+  public JwkSetRefresher jwkSetRefresher(
+      OAuth2ResourceServerProperties resourceServerProperties,
+      JwtVerificationProperties properties,
+      WebClient.Builder webClientBuilder,
+      MeterRegistry meterRegistry) {
+    OAuth2ResourceServerProperties.Jwt jwt = resourceServerProperties.getJwt();
+    return new JwkSetRefresher(
+        webClientBuilder.build(),
+        jwt.getIssuerUri(),
+        jwt.getJwkSetUri(),
+        properties.getJwksRefreshInterval(),
+        properties.getJwksMinimumRefetchInterval(),
+        meterRegistry);
+  }
+
+  @Bean
+  public ReactiveJwtDecoder jwtDecoder(
+      OAuth2ResourceServerProperties resourceServerProperties,
+      JwtVerificationProperties properties,
+      JwkSetRefresher jwkSetRefresher,
+      MeterRegistry meterRegistry)
+      throws IOException {
+    OAuth2ResourceServerProperties.Jwt jwt = resourceServerProperties.getJwt();
+    NimbusReactiveJwtDecoder decoder;
+    if (jwt.getPublicKeyLocation() != null) {
+      try (InputStream key = jwt.getPublicKeyLocation().getInputStream()) {
+        RSAPublicKey publicKey = RsaKeyConverters.x509().convert(key);
+        decoder = NimbusReactiveJwtDecoder.withPublicKey(publicKey).build();
+      }
+    } else {
+      decoder = NimbusReactiveJwtDecoder.withJwkSource(jwkSetRefresher::select).build();
+    }
+    decoder.setJwtValidator(
+        StringUtils.hasText(jwt.getIssuerUri())
+            ? JwtValidators.createDefaultWithIssuer(jwt.getIssuerUri())
+            : JwtValidators.createDefault());
+
+    return new CachingReactiveJwtDecoder(
+        decoder,
+        properties.getCacheMaximumSize(),
+        properties.getCacheMaximumTimeToLive(),
+        meterRegistry);
+  }
+}
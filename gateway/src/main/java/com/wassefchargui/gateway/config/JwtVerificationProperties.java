@@ -0,0 +1,62 @@
+package com.wassefchargui.gateway.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Caching of verified tokens and refreshing of the issuer's signing keys. Where the keys come from
+ * is still configured under {@code spring.security.oauth2.resourceserver.jwt}.
+ */
+@ConfigurationProperties(prefix = "application.jwt")
+public class JwtVerificationProperties {
+
+  /** Verified tokens kept in memory. */
+  private long cacheMaximumSize = 10_000;
+
+  /**
+   * Upper bound on how long a verified token is trusted without checking its signature again,
+   * whatever its own expiry. Bounds the exposure after a key has been revoked.
+   */
+  private Duration cacheMaximumTimeToLive = Duration.ofMinutes(5);
+
+  /** How often the JWK set is fetched in the background, so key rotation is picked up early. */
+  private Duration jwksRefreshInterval = Duration.ofMinutes(5);
+
+  /**
+   * Minimum time between two on-demand fetches triggered by tokens signed with an unknown key, so
+   * forged key ids cannot be used to flood the issuer.
+   */
+  private Duration jwksMinimumRefetchInterval = Duration.ofSeconds(30);
+
+  public long getCacheMaximumSize() {
+    return cacheMaximumSize;
+  }
+
+  public void setCacheMaximumSize(long cacheMaximumSize) {
+    this.cacheMaximumSize = cacheMaximumSize;
+  }
+
+  public Duration getCacheMaximumTimeToLive() {
+    return cacheMaximumTimeToLive;
+  }
+
+  public void setCacheMaximumTimeToLive(Duration cacheMaximumTimeToLive) {
+    this.cacheMaximumTimeToLive = cacheMaximumTimeToLive;
+  }
+
+  public Duration getJwksRefreshInterval() {
+    return jwksRefreshInterval;
+  }
+
+  public void setJwksRefreshInterval(Duration jwksRefreshInterval) {
+    this.jwksRefreshInterval = jwksRefreshInterval;
+  }
+
+  public Duration getJwksMinimumRefetchInterval() {
+    return jwksMinimumRefetchInterval;
+  }
+
+  public void setJwksMinimumRefetchInterval(Duration jwksMinimumRefetchInterval) {
+    this.jwksMinimumRefetchInterval = jwksMinimumRefetchInterval;
+  }
+}
@@ -0,0 +1,10 @@
+package com.wassefchargui.gateway.config;
+
+import com.wassefchargui.gateway.loadbalancer.LatencyAwareLoadBalancerConfiguration;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+/** Balances {@code lb://} routes by latency and outstanding requests instead of round robin. */
+@Configuration
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {}
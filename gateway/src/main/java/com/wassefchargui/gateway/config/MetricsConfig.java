@@ -0,0 +1,27 @@
+package com.wassefchargui.gateway.config;
+
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Gives the per-route gateway timer the {@code route} and {@code method} tags the services use, so
+ * a request can be followed from the gateway to the backend on one dashboard. Histograms and SLO
+ * buckets are configured under {@code management.metrics.distribution}; the tags shared with the
+ * services come from {@code MeterTagsAutoConfiguration} of {@code common}.
+ */
+@Configuration
+public class MetricsConfig {
+
+  private static final String GATEWAY_TIMER = "spring.cloud.gateway.requests";
+
+  @Bean
+  public MeterFilter gatewayRouteTag() {
+    return MeterFilter.renameTag(GATEWAY_TIMER, "routeId", "route");
+  }
+
+  @Bean
+  public MeterFilter gatewayMethodTag() {
+    return MeterFilter.renameTag(GATEWAY_TIMER, "httpMethod", "method");
+  }
+}
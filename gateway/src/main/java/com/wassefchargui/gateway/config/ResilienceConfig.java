@@ -1,10 +1,10 @@
 package com.wassefchargui.gateway.config;
 
-import static io.github.resilience4j.circuitbreaker.CircuitBreakerConfig.SlidingWindowType.COUNT_BASED;
-
-import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
-import io.github.resilience4j.timelimiter.TimeLimiterConfig;
-import java.time.Duration;
+import com.wassefchargui.gateway.resilience.BreakerSettings;
+import com.wassefchargui.gateway.resilience.CircuitBreakerProfiles;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.circuitbreaker.resilience4j.ReactiveResilience4JCircuitBreakerFactory;
 import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JConfigBuilder;
 import org.springframework.cloud.client.circuitbreaker.Customizer;
@@ -12,35 +12,37 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@EnableConfigurationProperties(ResilienceProperties.class)
 public class ResilienceConfig {
   /**
    * see : <a
    * href="https://www.netjstech.com/2023/11/spring-boot-microservice-circuit-breaker-resilience4j.html">...</a>
    *
+   * <p>Each circuit breaker starts from the profile named after it in {@code
+   * application.resilience.routes}, or from {@code application.resilience.defaults}; {@link
+   * CircuitBreakerProfiles} then keeps it up to date.
+   *
    * @return
    */
   @Bean
-  public Customizer<ReactiveResilience4JCircuitBreakerFactory> defaultCustomizer() {
+  public Customizer<ReactiveResilience4JCircuitBreakerFactory> defaultCustomizer(
+      ResilienceProperties properties) {
     return factory ->
         factory.configureDefault(
-            id ->
-                new Resilience4JConfigBuilder(id)
-                    .timeLimiterConfig(
-                        TimeLimiterConfig.custom().timeoutDuration(Duration.ofMillis(3000)).build())
-                    .circuitBreakerConfig(
-                        CircuitBreakerConfig.custom()
-                            .slidingWindowSize(10)
-                            .slidingWindowType(COUNT_BASED)
-                            .permittedNumberOfCallsInHalfOpenState(3)
-                            .failureRateThreshold(50.0F)
-                            .waitDurationInOpenState(Duration.ofSeconds(5))
-                            .slowCallDurationThreshold(Duration.ofMillis(200))
-                            .slowCallRateThreshold(50.0F)
-                            .automaticTransitionFromOpenToHalfOpenEnabled(true)
-                            .minimumNumberOfCalls(5)
-                            .build())
-                    .build());
+            id -> {
+              BreakerSettings settings = BreakerSettings.of(properties.profile(id));
+              return new Resilience4JConfigBuilder(id)
+                  .timeLimiterConfig(settings.timeLimiterConfig())
+                  .circuitBreakerConfig(settings.circuitBreakerConfig())
+                  .build();
+            });
   }
 
-
+  @Bean(initMethod = "start", destroyMethod = "stop")
+  public CircuitBreakerProfiles circuitBreakerProfiles(
+      CircuitBreakerRegistry circuitBreakerRegistry,
+      TimeLimiterRegistry timeLimiterRegistry,
+      ResilienceProperties properties) {
+    return new CircuitBreakerProfiles(circuitBreakerRegistry, timeLimiterRegistry, properties);
+  }
 }
@@ -0,0 +1,233 @@
+package com.wassefchargui.gateway.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Circuit breaker and time limiter profiles, keyed by the circuit breaker name used in the route's
+ * {@code CircuitBreaker} filter. Names without a profile use {@code defaults}; fields a profile
+ * leaves out take the built-in values below. Changes are applied on {@code /actuator/refresh}.
+ */
+@ConfigurationProperties(prefix = "application.resilience")
+public class ResilienceProperties {
+
+  private Profile defaults = new Profile();
+
+  private Map<String, Profile> routes = new LinkedHashMap<>();
+
+  private Adaptive adaptive = new Adaptive();
+
+  public Profile profile(String name) {
+    return routes.getOrDefault(name, defaults);
+  }
+
+  public Profile getDefaults() {
+    return defaults;
+  }
+
+  public void setDefaults(Profile defaults) {
+    this.defaults = defaults;
+  }
+
+  public Map<String, Profile> getRoutes() {
+    return routes;
+  }
+
+  public void setRoutes(Map<String, Profile> routes) {
+    this.routes = routes;
+  }
+
+  public Adaptive getAdaptive() {
+    return adaptive;
+  }
+
+  public void setAdaptive(Adaptive adaptive) {
+    this.adaptive = adaptive;
+  }
+
+  public static class Profile {
+
+    /** Calls over which failure and slow-call rates are computed. */
+    private int slidingWindowSize = 10;
+
+    private int minimumNumberOfCalls = 5;
+
+    private float failureRateThreshold = 50.0F;
+
+    private float slowCallRateThreshold = 50.0F;
+
+    /**
+     * Calls slower than this count as slow. Only a starting point when {@code adaptive} is on: it
+     * is then derived from the route's observed latency.
+     */
+    private Duration slowCallDurationThreshold = Duration.ofMillis(200);
+
+    private Duration waitDurationInOpenState = Duration.ofSeconds(5);
+
+    private int permittedNumberOfCallsInHalfOpenState = 3;
+
+    /** Time limiter: calls still running after this are cancelled and count as failures. */
+    private Duration timeout = Duration.ofSeconds(3);
+
+    /** Derive the slow-call threshold from live latency, see {@link Adaptive}. */
+    private boolean adaptive = true;
+
+    public int getSlidingWindowSize() {
+      return slidingWindowSize;
+    }
+
+    public void setSlidingWindowSize(int slidingWindowSize) {
+      this.slidingWindowSize = slidingWindowSize;
+    }
+
+    public int getMinimumNumberOfCalls() {
+      return minimumNumberOfCalls;
+    }
+
+    public void setMinimumNumberOfCalls(int minimumNumberOfCalls) {
+      this.minimumNumberOfCalls = minimumNumberOfCalls;
+    }
+
+    public float getFailureRateThreshold() {
+      return failureRateThreshold;
+    }
+
+    public void setFailureRateThreshold(float failureRateThreshold) {
+      this.failureRateThreshold = failureRateThreshold;
+    }
+
+    public float getSlowCallRateThreshold() {
+      return slowCallRateThreshold;
+    }
+
+    public void setSlowCallRateThreshold(float slowCallRateThreshold) {
+      this.slowCallRateThreshold = slowCallRateThreshold;
+    }
+
+    public Duration getSlowCallDurationThreshold() {
+      return slowCallDurationThreshold;
+    }
+
+    public void setSlowCallDurationThreshold(Duration slowCallDurationThreshold) {
+      this.slowCallDurationThreshold = slowCallDurationThreshold;
+    }
+
+    public Duration getWaitDurationInOpenState() {
+      return waitDurationInOpenState;
+    }
+
+    public void setWaitDurationInOpenState(Duration waitDurationInOpenState) {
+      this.waitDurationInOpenState = waitDurationInOpenState;
+    }
+
+    public int getPermittedNumberOfCallsInHalfOpenState() {
+      return permittedNumberOfCallsInHalfOpenState;
+    }
+
+    public void setPermittedNumberOfCallsInHalfOpenState(
+        int permittedNumberOfCallsInHalfOpenState) {
+      this.permittedNumberOfCallsInHalfOpenState = permittedNumberOfCallsInHalfOpenState;
+    }
+
+    public Duration getTimeout() {
+      return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+      this.timeout = timeout;
+    }
+
+    public boolean isAdaptive() {
+      return adaptive;
+    }
+
+    public void setAdaptive(boolean adaptive) {
+      this.adaptive = adaptive;
+    }
+  }
+
+  /**
+   * Derivation of slow-call thresholds: {@code multiplier} times the {@code percentile} of the last
+   * successful calls, never below {@code minimumSlowCallDurationThreshold} nor above the profile's
+   * timeout. Recomputed every {@code refreshInterval}.
+   */
+  public static class Adaptive {
+
+    private boolean enabled = true;
+
+    private double percentile = 0.95;
+
+    private double multiplier = 3.0;
+
+    /** Successful calls needed before the observed percentile replaces the configured value. */
+    private int minimumSamples = 100;
+
+    private Duration refreshInterval = Duration.ofMinutes(1);
+
+    private Duration minimumSlowCallDurationThreshold = Duration.ofMillis(50);
+
+    /**
+     * Relative change below which a derived threshold is not applied. Applying one replaces the
+     * circuit breaker and resets its window, so small drifts are ignored.
+     */
+    private double tolerance = 0.2;
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public double getPercentile() {
+      return percentile;
+    }
+
+    public void setPercentile(double percentile) {
+      this.percentile = percentile;
+    }
+
+    public double getMultiplier() {
+      return multiplier;
+    }
+
+    public void setMultiplier(double multiplier) {
+      this.multiplier = multiplier;
+    }
+
+    public int getMinimumSamples() {
+      return minimumSamples;
+    }
+
+    public void setMinimumSamples(int minimumSamples) {
+      this.minimumSamples = minimumSamples;
+    }
+
+    public Duration getRefreshInterval() {
+      return refreshInterval;
+    }
+
+    public void setRefreshInterval(Duration refreshInterval) {
+      this.refreshInterval = refreshInterval;
+    }
+
+    public Duration getMinimumSlowCallDurationThreshold() {
+      return minimumSlowCallDurationThreshold;
+    }
+
+    public void setMinimumSlowCallDurationThreshold(Duration minimumSlowCallDurationThreshold) {
+      this.minimumSlowCallDurationThreshold = minimumSlowCallDurationThreshold;
+    }
+
+    public double getTolerance() {
+      return tolerance;
+    }
+
+    public void setTolerance(double tolerance) {
+      this.tolerance = tolerance;
+    }
+  }
+}
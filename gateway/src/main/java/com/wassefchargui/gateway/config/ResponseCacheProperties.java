@@ -0,0 +1,49 @@
+package com.wassefchargui.gateway.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Limits of the shared response cache. Per-route time to live and keying are set on the {@code
+ * ResponseCache} filter of each route.
+ */
+@ConfigurationProperties(prefix = "application.response-cache")
+public class ResponseCacheProperties {
+
+  /** Total size of cached bodies and headers across all routes. */
+  private DataSize maximumSize = DataSize.ofMegabytes(64);
+
+  /** Responses larger than this are streamed through without being cached. */
+  private DataSize maximumEntrySize = DataSize.ofKilobytes(512);
+
+  /**
+   * How long an expired entry that carries an ETag is kept so that it can be revalidated with a
+   * conditional request instead of being fetched again.
+   */
+  private Duration staleRetention = Duration.ofMinutes(10);
+
+  public DataSize getMaximumSize() {
+    return maximumSize;
+  }
+
+  public void setMaximumSize(DataSize maximumSize) {
+    this.maximumSize = maximumSize;
+  }
+
+  public DataSize getMaximumEntrySize() {
+    return maximumEntrySize;
+  }
+
+  public void setMaximumEntrySize(DataSize maximumEntrySize) {
+    this.maximumEntrySize = maximumEntrySize;
+  }
+
+  public Duration getStaleRetention() {
+    return staleRetention;
+  }
+
+  public void setStaleRetention(Duration staleRetention) {
+    this.staleRetention = staleRetention;
+  }
+}
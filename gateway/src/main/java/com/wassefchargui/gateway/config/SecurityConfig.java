@@ -18,7 +18,8 @@ import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
 
 @Configuration
 @EnableWebFluxSecurity
-@EnableConfigurationProperties(value = {GlobalCorsProperties.class})
+@EnableConfigurationProperties(
+    value = {GlobalCorsProperties.class, ActuatorSecurityProperties.class})
 public class SecurityConfig {
 
   private static final String[] AUTH_WHITELIST = {
@@ -37,19 +38,35 @@ public class SecurityConfig {
     // Other endpoints
     "/eureka/**",
 
-    // Health and actuator endpoints (optional)
-    "/actuator/**",
-    "/*/actuator/**"
+    // Health and info of the gateway and of the services behind it
+    "/actuator/health",
+    "/actuator/health/**",
+    "/actuator/info",
+    "/*/actuator/health",
+    "/*/actuator/health/**",
+    "/*/actuator/info"
   };
 
+  /** Prometheus scrapes of the gateway and of the services, open to the scrape authority too. */
+  private static final String[] PROMETHEUS = {"/actuator/prometheus", "/*/actuator/prometheus"};
+
+  /** Every other actuator endpoint, some of which change state (refresh, resilienceprofiles). */
+  private static final String[] ACTUATOR = {"/actuator/**", "/*/actuator/**"};
+
   @Bean
-  public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity serverHttpSecurity) {
+  public SecurityWebFilterChain securityWebFilterChain(
+      ServerHttpSecurity serverHttpSecurity, ActuatorSecurityProperties actuatorProperties) {
     serverHttpSecurity
         .csrf(ServerHttpSecurity.CsrfSpec::disable)
         .authorizeExchange(
             exchange ->
                 exchange
                     .pathMatchers(AUTH_WHITELIST).permitAll()
+                    .pathMatchers(PROMETHEUS)
+                        .hasAnyAuthority(
+                            actuatorProperties.getAuthority(),
+                            actuatorProperties.getScrapeAuthority())
+                    .pathMatchers(ACTUATOR).hasAuthority(actuatorProperties.getAuthority())
                     .anyExchange().authenticated())
         .oauth2ResourceServer(oauth2 -> oauth2.jwt(Customizer.withDefaults()));
     return serverHttpSecurity.build();
@@ -0,0 +1,194 @@
+package com.wassefchargui.gateway.limit;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Sheds load before it queues: each route gets an {@link AdaptiveConcurrencyLimiter} and requests
+ * above its current limit are answered right away with 503 and {@code Retry-After}, instead of
+ * waiting for the circuit breaker's time limiter. GET and HEAD may use the whole limit, other
+ * methods only {@code write-share} of it.
+ *
+ * <pre>
+ * filters:
+ *   - name: AdaptiveConcurrencyLimit
+ *     args:
+ *       initial-limit: 20
+ *       write-share: 0.5
+ * </pre>
+ *
+ * <p>Place it after ResponseCache and RequestCoalescing, so that cache hits and coalesced followers
+ * do not take a permit, and before CircuitBreaker. Failed calls and 5xx responses shrink the limit,
+ * but not the CircuitBreaker's fallback responses: while the breaker is open, calls never reach the
+ * backend and are released without a sample; other fallbacks (a time limiter timeout, say) only
+ * contribute their latency. Publishes {@code gateway.concurrency.limit} and
+ * {@code gateway.concurrency.in.flight} per route, and {@code gateway.concurrency.rejected} per
+ * route and priority.
+ */
+@Component
+public class AdaptiveConcurrencyLimitGatewayFilterFactory
+    extends AbstractGatewayFilterFactory<AdaptiveConcurrencyLimitGatewayFilterFactory.Config> {
+
+  private static final byte[] REJECTED_BODY =
+      "{\"status\":\"SERVICE IS OVERLOADED, PLEASE TRY AGAIN LATER\"}"
+          .getBytes(StandardCharsets.UTF_8);
+
+  private final MeterRegistry meterRegistry;
+
+  public AdaptiveConcurrencyLimitGatewayFilterFactory(MeterRegistry meterRegistry) {
+    super(Config.class);
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public GatewayFilter apply(Config config) {
+    String routeId = config.getRouteId();
+    AdaptiveConcurrencyLimiter limiter =
+        new AdaptiveConcurrencyLimiter(
+            config.getInitialLimit(),
+            config.getMinLimit(),
+            config.getMaxLimit(),
+            config.getWriteShare());
+    Gauge.builder("gateway.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+        .description("Current adaptive concurrency limit")
+        .tag("route", routeId)
+        .register(meterRegistry);
+    Gauge.builder("gateway.concurrency.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+        .description("Requests currently holding a permit")
+        .tag("route", routeId)
+        .register(meterRegistry);
+
+    return (exchange, chain) -> {
+      HttpMethod method = exchange.getRequest().getMethod();
+      boolean write = !HttpMethod.GET.equals(method) && !HttpMethod.HEAD.equals(method);
+      if (!limiter.tryAcquire(write)) {
+        Counter.builder("gateway.concurrency.rejected")
+            .description("Requests shed by the adaptive concurrency limit")
+            .tag("route", routeId)
+            .tag("priority", write ? "write" : "read")
+            .register(meterRegistry)
+            .increment();
+        return reject(exchange.getResponse(), config.getRetryAfter());
+      }
+
+      long start = System.nanoTime();
+      return chain
+          .filter(exchange)
+          .doFinally(
+              signal -> {
+                if (signal == SignalType.CANCEL) {
+                  limiter.release();
+                  return;
+                }
+                Throwable fallbackCause =
+                    exchange.getAttribute(CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR);
+                if (fallbackCause instanceof CallNotPermittedException) {
+                  limiter.release();
+                  return;
+                }
+                limiter.release(
+                    System.nanoTime() - start, fallbackCause == null && dropped(exchange, signal));
+              });
+    };
+  }
+
+  private static boolean dropped(ServerWebExchange exchange, SignalType signal) {
+    HttpStatusCode status = exchange.getResponse().getStatusCode();
+    return signal == SignalType.ON_ERROR || (status != null && status.is5xxServerError());
+  }
+
+  private static Mono<Void> reject(ServerHttpResponse response, Duration retryAfter) {
+    response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+    response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter.toSeconds()));
+    response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+    return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(REJECTED_BODY)));
+  }
+
+  public static class Config implements HasRouteId {
+
+    private String routeId;
+
+    /** Limit before the first latency samples arrive. */
+    private int initialLimit = 20;
+
+    /** The limit never shrinks below this, so a route always keeps some traffic flowing. */
+    private int minLimit = 4;
+
+    private int maxLimit = 500;
+
+    /** Fraction of the limit non-GET requests may use; reads are shed last. */
+    private double writeShare = 0.5;
+
+    /** Sent as Retry-After on rejected requests. */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    @Override
+    public void setRouteId(String routeId) {
+      this.routeId = routeId;
+    }
+
+    @Override
+    public String getRouteId() {
+      return routeId;
+    }
+
+    public int getInitialLimit() {
+      return initialLimit;
+    }
+
+    public void setInitialLimit(int initialLimit) {
+      this.initialLimit = initialLimit;
+    }
+
+    public int getMinLimit() {
+      return minLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+      this.minLimit = minLimit;
+    }
+
+    public int getMaxLimit() {
+      return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+      this.maxLimit = maxLimit;
+    }
+
+    public double getWriteShare() {
+      return writeShare;
+    }
+
+    public void setWriteShare(double writeShare) {
+      this.writeShare = writeShare;
+    }
+
+    public Duration getRetryAfter() {
+      return retryAfter;
+    }
+
+    public void setRetryAfter(Duration retryAfter) {
+      this.retryAfter = retryAfter;
+    }
+  }
+}
@@ -0,0 +1,156 @@
+package com.wassefchargui.gateway.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that follows the backend's latency, in the spirit of the gradient algorithm
+ * of Netflix' concurrency-limits.
+ *
+ * <p>Two round-trip times are kept: a moving average reacting within a few dozen samples and a
+ * baseline standing for the no-load latency. When requests start queueing the average rises above
+ * the baseline and the limit shrinks by their ratio (at most halving per update); while they agree,
+ * the limit grows by about {@code sqrt(limit)}, the queue the backend is allowed to build. By
+ * Little's law the admitted concurrency then tracks throughput times latency instead of piling
+ * requests up until they time out. A failed or timed-out call multiplies the limit by {@code
+ * backoffRatio}.
+ *
+ * <p>The baseline is only learnt while the limit is not the bottleneck: from requests released at
+ * less than half the limit, and, while saturated, by a probe every {@value #PROBE_INTERVAL} samples
+ * that drops the limit to {@code minLimit} for {@value #PROBE_SAMPLES} requests. Averaging loaded
+ * samples into it instead would let it creep up with the queue it is meant to detect, and the limit
+ * with it, under sustained overload.
+ *
+ * <p>Writes may only use {@code writeShare} of the limit, so under pressure reads keep being
+ * admitted after writes are already shed.
+ */
+class AdaptiveConcurrencyLimiter {
+
+  private static final double SHORT_WINDOW = 10;
+  private static final double LONG_WINDOW = 600;
+  private static final double SMOOTHING = 0.2;
+  private static final double MIN_GRADIENT = 0.5;
+  private static final double BACKOFF_RATIO = 0.9;
+  private static final int PROBE_INTERVAL = 2000;
+  private static final int PROBE_SAMPLES = 10;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final double writeShare;
+  private final AtomicInteger inFlight = new AtomicInteger();
+
+  private volatile double limit;
+  private double shortRttNanos;
+  private double longRttNanos;
+  private int samplesUntilProbe = PROBE_INTERVAL;
+  private boolean probing;
+  private double limitBeforeProbe;
+  private int probeDraining;
+  private int probeSamples;
+  private double probeRttNanos;
+
+  AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double writeShare) {
+    this.limit = initialLimit;
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.writeShare = writeShare;
+  }
+
+  /** Admits a request, or returns {@code false} if it should be shed. */
+  boolean tryAcquire(boolean write) {
+    double admitted = write ? limit * writeShare : limit;
+    while (true) {
+      int current = inFlight.get();
+      if (current >= admitted) {
+        return false;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Releases a permit and feeds the outcome into the limit.
+   *
+   * @param rttNanos time the request held its permit
+   * @param dropped whether the backend failed or timed out
+   */
+  void release(long rttNanos, boolean dropped) {
+    int current = inFlight.getAndDecrement();
+    update(rttNanos, dropped, current);
+  }
+
+  /** Releases a permit without a sample, e.g. when the client went away. */
+  void release() {
+    inFlight.decrementAndGet();
+  }
+
+  int getLimit() {
+    return (int) limit;
+  }
+
+  int getInFlight() {
+    return inFlight.get();
+  }
+
+  private synchronized void update(long rttNanos, boolean dropped, int inFlightAtRelease) {
+    if (dropped) {
+      limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+      return;
+    }
+    if (longRttNanos == 0) {
+      shortRttNanos = rttNanos;
+      longRttNanos = rttNanos;
+      return;
+    }
+    shortRttNanos += (rttNanos - shortRttNanos) / SHORT_WINDOW;
+    if (probing) {
+      probe(rttNanos);
+      return;
+    }
+
+    // after the backend got faster, let the baseline catch up quickly
+    if (longRttNanos > shortRttNanos * 2) {
+      longRttNanos *= 0.95;
+    }
+    // an under-used limit says nothing about capacity, don't grow it; its latency is the baseline
+    if (inFlightAtRelease < limit / 2) {
+      longRttNanos += (rttNanos - longRttNanos) / LONG_WINDOW;
+      return;
+    }
+    if (--samplesUntilProbe <= 0) {
+      probing = true;
+      limitBeforeProbe = limit;
+      limit = minLimit;
+      probeDraining = inFlightAtRelease - 1;
+      probeSamples = 0;
+      probeRttNanos = 0;
+      return;
+    }
+
+    double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, longRttNanos / shortRttNanos));
+    double target = limit * gradient + Math.sqrt(limit);
+    double next = limit * (1 - SMOOTHING) + target * SMOOTHING;
+    limit = Math.max(minLimit, Math.min(maxLimit, next));
+  }
+
+  /**
+   * Measures the baseline while the limit is down to {@code minLimit}, skipping the requests
+   * admitted before the probe, whose latency still includes the queue, then restores the limit.
+   */
+  private void probe(long rttNanos) {
+    if (probeDraining > 0) {
+      probeDraining--;
+      return;
+    }
+    probeRttNanos += rttNanos;
+    probeSamples++;
+    if (probeSamples >= PROBE_SAMPLES) {
+      longRttNanos = probeRttNanos / probeSamples;
+      shortRttNanos = longRttNanos;
+      limit = limitBeforeProbe;
+      probing = false;
+      samplesUntilProbe = PROBE_INTERVAL;
+    }
+  }
+}
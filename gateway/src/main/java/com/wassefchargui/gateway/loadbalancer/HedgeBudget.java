@@ -0,0 +1,31 @@
+package com.wassefchargui.gateway.loadbalancer;
+
+/**
+ * Token bucket bounding the extra load hedging adds: every eligible request deposits {@code
+ * ratio} tokens and every hedge spends one, so at most {@code ratio} of a route's requests are
+ * hedged, with bursts of up to {@code maxTokens} after a quiet period. When a backend slows down as
+ * a whole, the budget runs dry instead of doubling its load.
+ */
+final class HedgeBudget {
+
+  private final double ratio;
+  private final double maxTokens;
+  private double tokens;
+
+  HedgeBudget(double ratio, double maxTokens) {
+    this.ratio = ratio;
+    this.maxTokens = maxTokens;
+  }
+
+  synchronized void deposit() {
+    tokens = Math.min(maxTokens, tokens + ratio);
+  }
+
+  synchronized boolean tryWithdraw() {
+    if (tokens < 1) {
+      return false;
+    }
+    tokens -= 1;
+    return true;
+  }
+}
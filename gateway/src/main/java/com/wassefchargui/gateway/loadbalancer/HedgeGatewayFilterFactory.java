@@ -0,0 +1,348 @@
+package com.wassefchargui.gateway.loadbalancer;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.containsEncodedParts;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerUriTools;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.DelegatingServiceInstance;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.cloud.gateway.support.NotFoundException;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+/**
+ * Hedged GETs for {@code lb://} routes: if the first instance has not answered a GET on one of
+ * the listed {@code paths} after the route's recent {@code percentile} latency, the same request
+ * is also sent to another instance and the first response wins; the other call is cancelled. This
+ * cuts the tail caused by one slow instance (GC pause, cold cache) at the price of a bounded
+ * amount of extra load.
+ *
+ * <pre>
+ * filters:
+ *   - name: Hedge
+ *     args:
+ *       percentile: 0.95
+ *       budget-ratio: 0.1
+ *       paths:
+ *         - /api/v1/employees/{id}
+ *         - /api/v1/employees/by-email/{email}
+ * </pre>
+ *
+ * <p>Hedging is opt-in per path: list only bounded lookups. Hedged GETs are performed by this
+ * filter and their responses buffered up to {@code maximum-body-size}, so unpaged lists and
+ * streaming endpoints must not be listed; every other request continues down the chain untouched
+ * and is streamed. The filter must be the last of the route: placed after CircuitBreaker, both
+ * attempts run under its time limiter and count as one call. At most {@code budget-ratio} of the
+ * route's hedgeable GETs are hedged (see {@link HedgeBudget}). Publishes {@code
+ * gateway.hedge.requests} per route and outcome ({@code sent}, {@code won}, {@code
+ * budget_exhausted}).
+ */
+@Component
+public class HedgeGatewayFilterFactory
+    extends AbstractGatewayFilterFactory<HedgeGatewayFilterFactory.Config> {
+
+  private final LoadBalancerClientFactory clientFactory;
+  private final InstanceStatistics statistics;
+  private final ObjectProvider<List<HttpHeadersFilter>> headersFilters;
+  private final WebClient.Builder webClientBuilder;
+  private final MeterRegistry meterRegistry;
+
+  public HedgeGatewayFilterFactory(
+      LoadBalancerClientFactory clientFactory,
+      InstanceStatistics statistics,
+      ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+      WebClient.Builder webClientBuilder,
+      MeterRegistry meterRegistry) {
+    super(Config.class);
+    this.clientFactory = clientFactory;
+    this.statistics = statistics;
+    this.headersFilters = headersFilters;
+    this.webClientBuilder = webClientBuilder;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public GatewayFilter apply(Config config) {
+    String routeId = config.getRouteId();
+    WebClient webClient =
+        webClientBuilder
+            .clone()
+            .codecs(
+                codecs ->
+                    codecs
+                        .defaultCodecs()
+                        .maxInMemorySize((int) config.getMaximumBodySize().toBytes()))
+            .build();
+    LatencyTracker latency = new LatencyTracker();
+    HedgeBudget budget = new HedgeBudget(config.getBudgetRatio(), config.getBudgetMaxTokens());
+    List<PathPattern> paths =
+        config.getPaths().stream().map(PathPatternParser.defaultInstance::parse).toList();
+    Counter sent = counter(routeId, "sent");
+    Counter won = counter(routeId, "won");
+    Counter budgetExhausted = counter(routeId, "budget_exhausted");
+
+    return (exchange, chain) -> {
+      Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+      if (!HttpMethod.GET.equals(exchange.getRequest().getMethod())
+          || route == null
+          || !"lb".equals(route.getUri().getScheme())
+          || paths.stream()
+              .noneMatch(
+                  pattern ->
+                      pattern.matches(exchange.getRequest().getPath().pathWithinApplication()))) {
+        return chain.filter(exchange);
+      }
+
+      budget.deposit();
+      String serviceId = route.getUri().getHost();
+      URI requestUri = exchange.getRequest().getURI();
+      URI target =
+          UriComponentsBuilder.fromUri(requestUri)
+              .uri(route.getUri())
+              .build(containsEncodedParts(requestUri))
+              .toUri();
+      HttpHeaders headers =
+          HttpHeadersFilter.filterRequest(headersFilters.getIfAvailable(), exchange);
+      headers.remove(HttpHeaders.HOST);
+      Duration observed = latency.percentile(config.getPercentile(), config.getInitialDelay());
+      Duration delay =
+          observed.compareTo(config.getMinDelay()) < 0 ? config.getMinDelay() : observed;
+
+      return choose(serviceId, exchange, null)
+          .flatMap(
+              primary -> {
+                AtomicReference<Throwable> primaryError = new AtomicReference<>();
+                Mono<ResponseEntity<byte[]>> first =
+                    call(webClient, primary, target, headers, latency)
+                        .doOnError(primaryError::set);
+                Mono<ResponseEntity<byte[]>> hedge =
+                    Mono.delay(delay)
+                        .then(
+                            Mono.defer(
+                                () -> {
+                                  if (!budget.tryWithdraw()) {
+                                    budgetExhausted.increment();
+                                    return Mono.empty();
+                                  }
+                                  String excluded = InstanceStatistics.key(primary);
+                                  return choose(serviceId, exchange, excluded)
+                                      .flatMap(
+                                          other -> {
+                                            sent.increment();
+                                            return call(webClient, other, target, headers, latency);
+                                          })
+                                      .doOnNext(response -> won.increment());
+                                }));
+                // when no hedge was sent or it failed too, report why the first call failed
+                // rather than the race's own NoSuchElementException
+                return Mono.firstWithValue(first, hedge)
+                    .onErrorMap(
+                        error ->
+                            error instanceof NoSuchElementException
+                                && primaryError.get() != null,
+                        error -> primaryError.get());
+              })
+          .switchIfEmpty(
+              Mono.error(
+                  () -> NotFoundException.create(true, "Unable to find instance for " + serviceId)))
+          .flatMap(response -> write(exchange, response));
+    };
+  }
+
+  private Mono<ServiceInstance> choose(
+      String serviceId, ServerWebExchange exchange, String excludedInstance) {
+    ReactiveLoadBalancer<ServiceInstance> loadBalancer = clientFactory.getInstance(serviceId);
+    if (loadBalancer == null) {
+      return Mono.empty();
+    }
+    Map<String, Object> attributes = new HashMap<>(exchange.getAttributes());
+    if (excludedInstance != null) {
+      attributes.put(LatencyAwareLoadBalancer.EXCLUDED_INSTANCE_ATTR, excludedInstance);
+    }
+    RequestDataContext context =
+        new RequestDataContext(new RequestData(exchange.getRequest(), attributes), "default");
+    return Mono.from(loadBalancer.choose(new DefaultRequest<>(context)))
+        .filter(Response::hasServer)
+        .map(Response::getServer);
+  }
+
+  private Mono<ResponseEntity<byte[]>> call(
+      WebClient webClient,
+      ServiceInstance instance,
+      URI target,
+      HttpHeaders headers,
+      LatencyTracker latency) {
+    return Mono.defer(
+        () -> {
+          URI uri =
+              LoadBalancerUriTools.reconstructURI(
+                  new DelegatingServiceInstance(instance, instance.isSecure() ? "https" : "http"),
+                  target);
+          long start = System.nanoTime();
+          InstanceStatistics.Call call = statistics.begin(instance);
+          return webClient
+              .get()
+              .uri(uri)
+              .headers(outgoing -> outgoing.addAll(headers))
+              .exchangeToMono(response -> response.toEntity(byte[].class))
+              .doOnNext(
+                  response -> {
+                    latency.record(System.nanoTime() - start);
+                    call.complete(!response.getStatusCode().is5xxServerError());
+                  })
+              .doOnError(error -> call.complete(false))
+              .doOnCancel(call::cancel);
+        });
+  }
+
+  private Mono<Void> write(ServerWebExchange exchange, ResponseEntity<byte[]> entity) {
+    ServerHttpResponse response = exchange.getResponse();
+    response.setStatusCode(entity.getStatusCode());
+    HttpHeaders headers =
+        HttpHeadersFilter.filter(
+            headersFilters.getIfAvailable(),
+            entity.getHeaders(),
+            exchange,
+            HttpHeadersFilter.Type.RESPONSE);
+    headers.remove(HttpHeaders.TRANSFER_ENCODING);
+    headers.remove(HttpHeaders.CONTENT_LENGTH);
+    response.getHeaders().putAll(headers);
+    byte[] body = entity.getBody();
+    if (body == null) {
+      return response.setComplete();
+    }
+    response.getHeaders().setContentLength(body.length);
+    return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(body)));
+  }
+
+  private Counter counter(String routeId, String outcome) {
+    return Counter.builder("gateway.hedge.requests")
+        .description("Hedged requests by outcome")
+        .tag("route", routeId)
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+
+  public static class Config implements HasRouteId {
+
+    private String routeId;
+
+    /** Recent latency percentile after which a second instance is tried. */
+    private double percentile = 0.95;
+
+    /** Hedge delay until enough latencies have been observed. */
+    private Duration initialDelay = Duration.ofMillis(100);
+
+    /** Never hedge sooner than this, however fast the route usually is. */
+    private Duration minDelay = Duration.ofMillis(10);
+
+    /** Maximum fraction of GETs that may be hedged. */
+    private double budgetRatio = 0.1;
+
+    /** Hedges that may be sent in a burst once the budget has filled up. */
+    private double budgetMaxTokens = 10;
+
+    /** Largest response that can be hedged; hedged responses are buffered. */
+    private DataSize maximumBodySize = DataSize.ofMegabytes(1);
+
+    /** Path patterns of the bounded lookups that are hedged; none by default. */
+    private List<String> paths = List.of();
+
+    @Override
+    public void setRouteId(String routeId) {
+      this.routeId = routeId;
+    }
+
+    @Override
+    public String getRouteId() {
+      return routeId;
+    }
+
+    public double getPercentile() {
+      return percentile;
+    }
+
+    public void setPercentile(double percentile) {
+      this.percentile = percentile;
+    }
+
+    public Duration getInitialDelay() {
+      return initialDelay;
+    }
+
+    public void setInitialDelay(Duration initialDelay) {
+      this.initialDelay = initialDelay;
+    }
+
+    public Duration getMinDelay() {
+      return minDelay;
+    }
+
+    public void setMinDelay(Duration minDelay) {
+      this.minDelay = minDelay;
+    }
+
+    public double getBudgetRatio() {
+      return budgetRatio;
+    }
+
+    public void setBudgetRatio(double budgetRatio) {
+      this.budgetRatio = budgetRatio;
+    }
+
+    public double getBudgetMaxTokens() {
+      return budgetMaxTokens;
+    }
+
+    public void setBudgetMaxTokens(double budgetMaxTokens) {
+      this.budgetMaxTokens = budgetMaxTokens;
+    }
+
+    public DataSize getMaximumBodySize() {
+      return maximumBodySize;
+    }
+
+    public void setMaximumBodySize(DataSize maximumBodySize) {
+      this.maximumBodySize = maximumBodySize;
+    }
+
+    public List<String> getPaths() {
+      return paths;
+    }
+
+    public void setPaths(List<String> paths) {
+      this.paths = paths;
+    }
+  }
+}
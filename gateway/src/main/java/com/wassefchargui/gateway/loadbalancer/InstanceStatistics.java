@@ -0,0 +1,179 @@
+package com.wassefchargui.gateway.loadbalancer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+
+/**
+ * Outstanding requests and a time-decayed EWMA of the latency of every backend instance, fed by
+ * the gateway's load-balancer lifecycle (and directly by hedged calls) and read by {@link
+ * LatencyAwareLoadBalancer}.
+ *
+ * <p>The EWMA forgets with a time constant of {@value #DECAY_SECONDS}s rather than per sample, so
+ * a rarely chosen instance that was slow is retried once its bad history has faded. Failed calls
+ * count as {@value #FAILURE_PENALTY_MILLIS}ms. Publishes {@code gateway.loadbalancer.latency.ewma}
+ * and {@code gateway.loadbalancer.outstanding} per service and instance.
+ */
+@Component
+public class InstanceStatistics
+    implements LoadBalancerLifecycle<RequestDataContext, ResponseData, ServiceInstance> {
+
+  private static final String CALL_ATTR = InstanceStatistics.class.getName() + ".call";
+  private static final long DECAY_SECONDS = 10;
+  private static final long FAILURE_PENALTY_MILLIS = 1_000;
+
+  private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+  private final MeterRegistry meterRegistry;
+
+  public InstanceStatistics(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  static String key(ServiceInstance instance) {
+    return instance.getInstanceId() != null
+        ? instance.getInstanceId()
+        : instance.getHost() + ":" + instance.getPort();
+  }
+
+  /**
+   * Expected cost of sending one more request to the instance: its latency EWMA times the requests
+   * it would then have in flight. Instances without samples cost nothing, so they get probed.
+   */
+  double cost(ServiceInstance instance) {
+    Stats instanceStats = stats.get(key(instance));
+    if (instanceStats == null) {
+      return 0;
+    }
+    return instanceStats.ewmaNanos * (instanceStats.outstanding.get() + 1);
+  }
+
+  /** Starts tracking a call; complete or cancel the returned handle exactly once. */
+  Call begin(ServiceInstance instance) {
+    Stats instanceStats = stats.computeIfAbsent(key(instance), key -> newStats(instance));
+    instanceStats.outstanding.incrementAndGet();
+    return new Call(instanceStats, System.nanoTime());
+  }
+
+  @Override
+  public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+    return RequestDataContext.class.isAssignableFrom(requestContextClass)
+        && ResponseData.class.isAssignableFrom(responseClass)
+        && ServiceInstance.class.isAssignableFrom(serverTypeClass);
+  }
+
+  @Override
+  public void onStart(Request<RequestDataContext> request) {}
+
+  @Override
+  public void onStartRequest(
+      Request<RequestDataContext> request, Response<ServiceInstance> lbResponse) {
+    if (lbResponse.hasServer()) {
+      request
+          .getContext()
+          .getClientRequest()
+          .getAttributes()
+          .put(CALL_ATTR, begin(lbResponse.getServer()));
+    }
+  }
+
+  @Override
+  public void onComplete(
+      CompletionContext<ResponseData, ServiceInstance, RequestDataContext> completionContext) {
+    Object call =
+        completionContext
+            .getLoadBalancerRequest()
+            .getContext()
+            .getClientRequest()
+            .getAttributes()
+            .remove(CALL_ATTR);
+    if (!(call instanceof Call started)) {
+      return;
+    }
+    if (completionContext.status() == CompletionContext.Status.DISCARD) {
+      started.cancel();
+      return;
+    }
+    ResponseData response = completionContext.getClientResponse();
+    HttpStatusCode status = response == null ? null : response.getHttpStatus();
+    started.complete(
+        completionContext.status() == CompletionContext.Status.SUCCESS
+            && (status == null || !status.is5xxServerError()));
+  }
+
+  private Stats newStats(ServiceInstance instance) {
+    Stats instanceStats = new Stats();
+    Gauge.builder("gateway.loadbalancer.latency.ewma", instanceStats, s -> s.ewmaNanos / 1e6)
+        .description("Time-decayed average latency used to balance requests")
+        .baseUnit("milliseconds")
+        .tag("service", instance.getServiceId())
+        .tag("instance", key(instance))
+        .register(meterRegistry);
+    Gauge.builder("gateway.loadbalancer.outstanding", instanceStats, s -> s.outstanding.get())
+        .description("Requests in flight to the instance")
+        .tag("service", instance.getServiceId())
+        .tag("instance", key(instance))
+        .register(meterRegistry);
+    return instanceStats;
+  }
+
+  private static final class Stats {
+
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private volatile double ewmaNanos;
+    private long lastSampleNanos;
+
+    synchronized void sample(long rttNanos) {
+      long now = System.nanoTime();
+      if (ewmaNanos == 0) {
+        ewmaNanos = rttNanos;
+      } else {
+        double elapsed = now - lastSampleNanos;
+        double weight = Math.exp(-elapsed / TimeUnit.SECONDS.toNanos(DECAY_SECONDS));
+        ewmaNanos = ewmaNanos * weight + rttNanos * (1 - weight);
+      }
+      lastSampleNanos = now;
+    }
+  }
+
+  /** A call in flight to one instance. */
+  static final class Call {
+
+    private final Stats stats;
+    private final long startNanos;
+    private final AtomicBoolean done = new AtomicBoolean();
+
+    private Call(Stats stats, long startNanos) {
+      this.stats = stats;
+      this.startNanos = startNanos;
+    }
+
+    void complete(boolean success) {
+      if (done.compareAndSet(false, true)) {
+        stats.outstanding.decrementAndGet();
+        long rtt = System.nanoTime() - startNanos;
+        long penalty = TimeUnit.MILLISECONDS.toNanos(FAILURE_PENALTY_MILLIS);
+        stats.sample(success ? rtt : Math.max(rtt, penalty));
+      }
+    }
+
+    /** Ends the call without a latency sample, e.g. a hedge that lost the race. */
+    void cancel() {
+      if (done.compareAndSet(false, true)) {
+        stats.outstanding.decrementAndGet();
+      }
+    }
+  }
+}
@@ -0,0 +1,91 @@
+package com.wassefchargui.gateway.loadbalancer;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+/**
+ * Power-of-two-choices balancer: of two random instances, picks the one with the lower {@link
+ * InstanceStatistics#cost} (latency EWMA times outstanding requests). A pausing instance quickly
+ * looks expensive and stops receiving traffic, while comparing just two keeps the choice cheap and
+ * avoids the herding of always picking the global minimum.
+ *
+ * <p>A request may carry {@link #EXCLUDED_INSTANCE_ATTR} to ask for any instance but the given one,
+ * as hedged requests do.
+ */
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+  public static final String EXCLUDED_INSTANCE_ATTR =
+      LatencyAwareLoadBalancer.class.getName() + ".excludedInstance";
+
+  private static final Logger log = LoggerFactory.getLogger(LatencyAwareLoadBalancer.class);
+
+  private final ObjectProvider<ServiceInstanceListSupplier> supplierProvider;
+  private final String serviceId;
+  private final InstanceStatistics statistics;
+
+  public LatencyAwareLoadBalancer(
+      ObjectProvider<ServiceInstanceListSupplier> supplierProvider,
+      String serviceId,
+      InstanceStatistics statistics) {
+    this.supplierProvider = supplierProvider;
+    this.serviceId = serviceId;
+    this.statistics = statistics;
+  }
+
+  @Override
+  public Mono<Response<ServiceInstance>> choose(Request request) {
+    ServiceInstanceListSupplier supplier =
+        supplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+    return supplier.get(request).next().map(instances -> choose(instances, excluded(request)));
+  }
+
+  private Response<ServiceInstance> choose(List<ServiceInstance> instances, Object excluded) {
+    List<ServiceInstance> candidates =
+        excluded == null
+            ? instances
+            : instances.stream()
+                .filter(instance -> !InstanceStatistics.key(instance).equals(excluded))
+                .toList();
+    if (candidates.isEmpty()) {
+      if (excluded == null) {
+        log.warn("No servers available for service: {}", serviceId);
+      }
+      return new EmptyResponse();
+    }
+    if (candidates.size() == 1) {
+      return new DefaultResponse(candidates.get(0));
+    }
+
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int first = random.nextInt(candidates.size());
+    int second = random.nextInt(candidates.size() - 1);
+    if (second >= first) {
+      second++;
+    }
+    ServiceInstance a = candidates.get(first);
+    ServiceInstance b = candidates.get(second);
+    return new DefaultResponse(statistics.cost(a) <= statistics.cost(b) ? a : b);
+  }
+
+  private static Object excluded(Request request) {
+    if (request.getContext() instanceof RequestDataContext context
+        && context.getClientRequest() != null
+        && context.getClientRequest().getAttributes() != null) {
+      return context.getClientRequest().getAttributes().get(EXCLUDED_INSTANCE_ATTR);
+    }
+    return null;
+  }
+}
@@ -0,0 +1,27 @@
+package com.wassefchargui.gateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Per-service load-balancer configuration, instantiated in each service's child context. Not a
+ * {@code @Configuration} on purpose: component scanning must not register it in the main context.
+ */
+public class LatencyAwareLoadBalancerConfiguration {
+
+  @Bean
+  public ReactorLoadBalancer<ServiceInstance> reactorServiceInstanceLoadBalancer(
+      Environment environment,
+      LoadBalancerClientFactory loadBalancerClientFactory,
+      InstanceStatistics statistics) {
+    String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+    return new LatencyAwareLoadBalancer(
+        loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+        serviceId,
+        statistics);
+  }
+}
@@ -0,0 +1,43 @@
+package com.wassefchargui.gateway.loadbalancer;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The last {@value #SIZE} latencies of a route, from which the hedge delay is derived. The
+ * percentile is recomputed at most once per {@value #RECOMPUTE_MILLIS}ms; samples written while
+ * copying may be torn or stale, which is harmless for a delay estimate.
+ */
+final class LatencyTracker {
+
+  private static final int SIZE = 512;
+  private static final int MINIMUM_SAMPLES = 50;
+  private static final long RECOMPUTE_MILLIS = 1_000;
+
+  private final long[] samples = new long[SIZE];
+  private final AtomicLong count = new AtomicLong();
+  private volatile long cachedNanos = -1;
+  private volatile long computedAtMillis;
+
+  void record(long nanos) {
+    samples[(int) (count.getAndIncrement() % SIZE)] = nanos;
+  }
+
+  /** The given percentile of recent latencies, or {@code fallback} until enough were recorded. */
+  Duration percentile(double percentile, Duration fallback) {
+    int n = (int) Math.min(count.get(), SIZE);
+    if (n < MINIMUM_SAMPLES) {
+      return fallback;
+    }
+    long now = System.currentTimeMillis();
+    if (cachedNanos < 0 || now - computedAtMillis >= RECOMPUTE_MILLIS) {
+      long[] sorted = Arrays.copyOf(samples, n);
+      Arrays.sort(sorted);
+      int rank = (int) Math.ceil(percentile * n) - 1;
+      cachedNanos = sorted[Math.max(0, Math.min(n - 1, rank))];
+      computedAtMillis = now;
+    }
+    return Duration.ofNanos(cachedNanos);
+  }
+}
@@ -0,0 +1,62 @@
+package com.wassefchargui.gateway.resilience;
+
+import static io.github.resilience4j.circuitbreaker.CircuitBreakerConfig.SlidingWindowType.COUNT_BASED;
+
+import com.wassefchargui.gateway.config.ResilienceProperties;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import java.time.Duration;
+
+/** The values a circuit breaker and its time limiter were built with. */
+public record BreakerSettings(
+    int slidingWindowSize,
+    int minimumNumberOfCalls,
+    float failureRateThreshold,
+    float slowCallRateThreshold,
+    Duration slowCallDurationThreshold,
+    Duration waitDurationInOpenState,
+    int permittedNumberOfCallsInHalfOpenState,
+    Duration timeout) {
+
+  public static BreakerSettings of(ResilienceProperties.Profile profile) {
+    return new BreakerSettings(
+        profile.getSlidingWindowSize(),
+        profile.getMinimumNumberOfCalls(),
+        profile.getFailureRateThreshold(),
+        profile.getSlowCallRateThreshold(),
+        profile.getSlowCallDurationThreshold(),
+        profile.getWaitDurationInOpenState(),
+        profile.getPermittedNumberOfCallsInHalfOpenState(),
+        profile.getTimeout());
+  }
+
+  public BreakerSettings withSlowCallDurationThreshold(Duration threshold) {
+    return new BreakerSettings(
+        slidingWindowSize,
+        minimumNumberOfCalls,
+        failureRateThreshold,
+        slowCallRateThreshold,
+        threshold,
+        waitDurationInOpenState,
+        permittedNumberOfCallsInHalfOpenState,
+        timeout);
+  }
+
+  public CircuitBreakerConfig circuitBreakerConfig() {
+    return CircuitBreakerConfig.custom()
+        .slidingWindowSize(slidingWindowSize)
+        .slidingWindowType(COUNT_BASED)
+        .permittedNumberOfCallsInHalfOpenState(permittedNumberOfCallsInHalfOpenState)
+        .failureRateThreshold(failureRateThreshold)
+        .waitDurationInOpenState(waitDurationInOpenState)
+        .slowCallDurationThreshold(slowCallDurationThreshold)
+        .slowCallRateThreshold(slowCallRateThreshold)
+        .automaticTransitionFromOpenToHalfOpenEnabled(true)
+        .minimumNumberOfCalls(minimumNumberOfCalls)
+        .build();
+  }
+
+  public TimeLimiterConfig timeLimiterConfig() {
+    return TimeLimiterConfig.custom().timeoutDuration(timeout).build();
+  }
+}
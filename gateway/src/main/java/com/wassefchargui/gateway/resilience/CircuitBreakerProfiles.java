@@ -0,0 +1,188 @@
+package com.wassefchargui.gateway.resilience;
+
+import com.wassefchargui.gateway.config.ResilienceProperties;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+/**
+ * Keeps every circuit breaker in line with its {@link ResilienceProperties} profile.
+ *
+ * <p>The durations of successful calls are recorded per breaker. Every {@code refresh-interval},
+ * and after {@code /actuator/refresh}, the slow-call threshold of adaptive profiles is recomputed
+ * as {@code multiplier} times the observed {@code percentile}, so an export that normally takes
+ * seconds is not "slow" while an id lookup that suddenly takes 300ms is. Breakers whose settings
+ * changed are replaced in the registry, which resets their window; this is skipped while a breaker
+ * is open or half-open and retried on the next refresh. Time limiters follow their profile's
+ * timeout the same way.
+ */
+public class CircuitBreakerProfiles {
+
+  private static final Logger log = LoggerFactory.getLogger(CircuitBreakerProfiles.class);
+
+  private final CircuitBreakerRegistry circuitBreakerRegistry;
+  private final TimeLimiterRegistry timeLimiterRegistry;
+  private final ResilienceProperties properties;
+
+  private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+  private final Map<String, BreakerSettings> applied = new ConcurrentHashMap<>();
+  private Disposable schedule;
+
+  public CircuitBreakerProfiles(
+      CircuitBreakerRegistry circuitBreakerRegistry,
+      TimeLimiterRegistry timeLimiterRegistry,
+      ResilienceProperties properties) {
+    this.circuitBreakerRegistry = circuitBreakerRegistry;
+    this.timeLimiterRegistry = timeLimiterRegistry;
+    this.properties = properties;
+  }
+
+  public void start() {
+    circuitBreakerRegistry.getAllCircuitBreakers().forEach(this::observe);
+    circuitBreakerRegistry
+        .getEventPublisher()
+        .onEntryAdded(event -> observe(event.getAddedEntry()));
+    circuitBreakerRegistry
+        .getEventPublisher()
+        .onEntryReplaced(event -> observe(event.getNewEntry()));
+    Duration interval = properties.getAdaptive().getRefreshInterval();
+    schedule =
+        Flux.interval(interval, interval)
+            .onBackpressureDrop()
+            .subscribe(
+                tick -> refresh(),
+                ex -> log.warn("Circuit breaker profile refresh stopped: {}", ex.getMessage()));
+  }
+
+  public void stop() {
+    if (schedule != null) {
+      schedule.dispose();
+    }
+  }
+
+  @EventListener(RefreshScopeRefreshedEvent.class)
+  public void onConfigurationRefreshed() {
+    refresh();
+  }
+
+  /** Re-applies the profiles and recomputes adaptive thresholds now. */
+  public synchronized void refresh() {
+    circuitBreakerRegistry.getAllCircuitBreakers().forEach(this::apply);
+  }
+
+  /** Configured and effective settings of every circuit breaker, for the actuator endpoint. */
+  public Map<String, Object> describe() {
+    Map<String, Object> breakers = new LinkedHashMap<>();
+    List<CircuitBreaker> all =
+        circuitBreakerRegistry.getAllCircuitBreakers().stream()
+            .sorted(Comparator.comparing(CircuitBreaker::getName))
+            .toList();
+    for (CircuitBreaker circuitBreaker : all) {
+      String name = circuitBreaker.getName();
+      ResilienceProperties.Profile profile = properties.profile(name);
+      LatencyWindow window = latencies.get(name);
+      BreakerSettings settings = applied.get(name);
+      Map<String, Object> description = new LinkedHashMap<>();
+      description.put("state", circuitBreaker.getState());
+      description.put("profile", properties.getRoutes().containsKey(name) ? name : "defaults");
+      description.put("adaptive", isAdaptive(profile));
+      description.put("samples", window == null ? 0 : window.size());
+      description.put(
+          "observedPercentile",
+          window == null ? null : window.percentile(properties.getAdaptive().getPercentile()));
+      description.put(
+          "configuredSlowCallDurationThreshold", profile.getSlowCallDurationThreshold());
+      description.put("effective", settings);
+      breakers.put(name, description);
+    }
+    return breakers;
+  }
+
+  private void observe(CircuitBreaker circuitBreaker) {
+    String name = circuitBreaker.getName();
+    LatencyWindow window = latencies.computeIfAbsent(name, key -> new LatencyWindow());
+    applied.putIfAbsent(name, BreakerSettings.of(properties.profile(name)));
+    circuitBreaker
+        .getEventPublisher()
+        .onSuccess(event -> window.record(event.getElapsedDuration()));
+  }
+
+  private void apply(CircuitBreaker current) {
+    String name = current.getName();
+    ResilienceProperties.Profile profile = properties.profile(name);
+    BreakerSettings target =
+        BreakerSettings.of(profile).withSlowCallDurationThreshold(slowCallDurationThreshold(name));
+    BreakerSettings previous = applied.getOrDefault(name, BreakerSettings.of(profile));
+
+    if (!previous.equals(target) && !withinTolerance(previous, target)) {
+      if (current.getState() != CircuitBreaker.State.CLOSED) {
+        log.debug(
+            "Circuit breaker {} is {}, keeping its settings for now", name, current.getState());
+      } else {
+        circuitBreakerRegistry.replace(
+            name, CircuitBreaker.of(name, target.circuitBreakerConfig(), current.getTags()));
+        applied.put(name, target);
+        log.info(
+            "Circuit breaker {}: slow-call threshold {} -> {}, timeout {}",
+            name,
+            previous.slowCallDurationThreshold(),
+            target.slowCallDurationThreshold(),
+            target.timeout());
+      }
+    }
+
+    timeLimiterRegistry
+        .find(name)
+        .filter(
+            timeLimiter ->
+                !timeLimiter.getTimeLimiterConfig().getTimeoutDuration().equals(target.timeout()))
+        .ifPresent(
+            timeLimiter ->
+                timeLimiterRegistry.replace(
+                    name,
+                    TimeLimiter.of(name, target.timeLimiterConfig(), timeLimiter.getTags())));
+  }
+
+  private Duration slowCallDurationThreshold(String name) {
+    ResilienceProperties.Profile profile = properties.profile(name);
+    ResilienceProperties.Adaptive adaptive = properties.getAdaptive();
+    LatencyWindow window = latencies.get(name);
+    if (!isAdaptive(profile) || window == null || window.size() < adaptive.getMinimumSamples()) {
+      return profile.getSlowCallDurationThreshold();
+    }
+    long derived =
+        (long) (window.percentile(adaptive.getPercentile()).toNanos() * adaptive.getMultiplier());
+    long floor = adaptive.getMinimumSlowCallDurationThreshold().toNanos();
+    long ceiling = profile.getTimeout().toNanos();
+    return Duration.ofNanos(Math.min(ceiling, Math.max(floor, derived)));
+  }
+
+  private boolean isAdaptive(ResilienceProperties.Profile profile) {
+    return properties.getAdaptive().isEnabled() && profile.isAdaptive();
+  }
+
+  /** Same settings but for a slow-call threshold that moved less than the tolerance. */
+  private boolean withinTolerance(BreakerSettings previous, BreakerSettings target) {
+    if (!previous
+        .withSlowCallDurationThreshold(target.slowCallDurationThreshold())
+        .equals(target)) {
+      return false;
+    }
+    double before = previous.slowCallDurationThreshold().toNanos();
+    double after = target.slowCallDurationThreshold().toNanos();
+    return Math.abs(after - before) <= before * properties.getAdaptive().getTolerance();
+  }
+}
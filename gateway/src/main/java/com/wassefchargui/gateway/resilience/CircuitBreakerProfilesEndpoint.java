@@ -0,0 +1,33 @@
+package com.wassefchargui.gateway.resilience;
+
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shows, per circuit breaker, its profile, the observed latency and the settings in effect. A POST
+ * recomputes adaptive thresholds right away instead of waiting for the next refresh.
+ */
+@Component
+@Endpoint(id = "resilienceprofiles")
+public class CircuitBreakerProfilesEndpoint {
+
+  private final CircuitBreakerProfiles profiles;
+
+  public CircuitBreakerProfilesEndpoint(CircuitBreakerProfiles profiles) {
+    this.profiles = profiles;
+  }
+
+  @ReadOperation
+  public Map<String, Object> profiles() {
+    return profiles.describe();
+  }
+
+  @WriteOperation
+  public Map<String, Object> refresh() {
+    profiles.refresh();
+    return profiles.describe();
+  }
+}
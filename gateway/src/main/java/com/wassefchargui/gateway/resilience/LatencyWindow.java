@@ -0,0 +1,36 @@
+package com.wassefchargui.gateway.resilience;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The last {@value #SIZE} successful call durations of one circuit breaker. Reads copy and sort the
+ * window; they happen once per refresh, so recording stays a single array write.
+ */
+final class LatencyWindow {
+
+  private static final int SIZE = 1_000;
+
+  private final long[] samples = new long[SIZE];
+  private final AtomicLong count = new AtomicLong();
+
+  void record(Duration duration) {
+    samples[(int) (count.getAndIncrement() % SIZE)] = duration.toNanos();
+  }
+
+  int size() {
+    return (int) Math.min(count.get(), SIZE);
+  }
+
+  Duration percentile(double percentile) {
+    int n = size();
+    if (n == 0) {
+      return Duration.ZERO;
+    }
+    long[] sorted = Arrays.copyOf(samples, n);
+    Arrays.sort(sorted);
+    int rank = (int) Math.ceil(percentile * n) - 1;
+    return Duration.ofNanos(sorted[Math.max(0, Math.min(n - 1, rank))]);
+  }
+}
@@ -0,0 +1,105 @@
+package com.wassefchargui.gateway.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Mono;
+
+/**
+ * Remembers tokens that passed signature and claim validation, keyed by the SHA-256 of the token,
+ * so that a client sending the same bearer token on every call is only verified once. An entry
+ * lives until the token expires, capped by {@code maximumTimeToLive}; failed tokens are never
+ * cached.
+ *
+ * <p>Publishes {@code cache.*} metrics for {@code cache=jwt-verifications} (hit ratio) and the
+ * {@code gateway.jwt.verification} timer for full verifications, tagged with their outcome.
+ */
+public class CachingReactiveJwtDecoder implements ReactiveJwtDecoder {
+
+  static final String CACHE_NAME = "jwt-verifications";
+
+  private final ReactiveJwtDecoder delegate;
+  private final Cache<String, Jwt> cache;
+  private final Timer successTimer;
+  private final Timer failureTimer;
+
+  public CachingReactiveJwtDecoder(
+      ReactiveJwtDecoder delegate,
+      long maximumSize,
+      Duration maximumTimeToLive,
+      MeterRegistry meterRegistry) {
+    this.delegate = delegate;
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(
+                Expiry.creating(
+                    (String key, Jwt jwt) -> {
+                      if (jwt.getExpiresAt() == null) {
+                        return maximumTimeToLive;
+                      }
+                      Duration untilExpiry = Duration.between(Instant.now(), jwt.getExpiresAt());
+                      if (untilExpiry.isNegative()) {
+                        return Duration.ZERO;
+                      }
+                      return untilExpiry.compareTo(maximumTimeToLive) < 0
+                          ? untilExpiry
+                          : maximumTimeToLive;
+                    }))
+            .recordStats()
+            .build();
+    this.successTimer = verificationTimer(meterRegistry, "success");
+    this.failureTimer = verificationTimer(meterRegistry, "failure");
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+  }
+
+  @Override
+  public Mono<Jwt> decode(String token) throws JwtException {
+    String key = sha256(token);
+    Jwt cached = cache.getIfPresent(key);
+    if (cached != null) {
+      return Mono.just(cached);
+    }
+    return Mono.defer(
+        () -> {
+          long start = System.nanoTime();
+          return delegate
+              .decode(token)
+              .doOnNext(
+                  jwt -> {
+                    successTimer.record(Duration.ofNanos(System.nanoTime() - start));
+                    cache.put(key, jwt);
+                  })
+              .doOnError(
+                  ex -> failureTimer.record(Duration.ofNanos(System.nanoTime() - start)));
+        });
+  }
+
+  private static Timer verificationTimer(MeterRegistry meterRegistry, String result) {
+    return Timer.builder("gateway.jwt.verification")
+        .description("Full JWT verification (signature and claims), cache misses only")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  private static String sha256(String token) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 not available", ex);
+    }
+  }
+}
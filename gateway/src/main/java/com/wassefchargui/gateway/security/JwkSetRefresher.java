@@ -0,0 +1,173 @@
+package com.wassefchargui.gateway.security;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Source of the issuer's signing keys for {@code NimbusReactiveJwtDecoder}.
+ *
+ * <p>Nothing is fetched while the application starts: the JWK set URI is discovered from the
+ * issuer's {@code /.well-known/openid-configuration} on first use, and a background task refreshes
+ * the key set every {@code refreshInterval} so rotated keys are known before the first token signed
+ * with them arrives. If the issuer is down the last known keys keep being used and the fetch is
+ * retried on the next tick. A token with an unknown key id triggers at most one on-demand fetch per
+ * {@code minimumRefetchInterval}; concurrent fetches share one request.
+ *
+ * <p>Publishes {@code gateway.jwks.refresh} tagged with its result.
+ */
+public class JwkSetRefresher {
+
+  private static final Logger log = LoggerFactory.getLogger(JwkSetRefresher.class);
+
+  private final WebClient webClient;
+  private final String issuerUri;
+  private final String configuredJwkSetUri;
+  private final Duration refreshInterval;
+  private final Duration minimumRefetchInterval;
+  private final MeterRegistry meterRegistry;
+
+  private final AtomicReference<String> jwkSetUri = new AtomicReference<>();
+  private final AtomicReference<JWKSet> keys = new AtomicReference<>();
+  private final AtomicReference<Mono<JWKSet>> inFlightFetch = new AtomicReference<>();
+  private volatile Instant lastFetch = Instant.EPOCH;
+  private Disposable schedule;
+
+  public JwkSetRefresher(
+      WebClient webClient,
+      String issuerUri,
+      String jwkSetUri,
+      Duration refreshInterval,
+      Duration minimumRefetchInterval,
+      MeterRegistry meterRegistry) {
+    this.webClient = webClient;
+    this.issuerUri = issuerUri;
+    this.configuredJwkSetUri = jwkSetUri;
+    this.refreshInterval = refreshInterval;
+    this.minimumRefetchInterval = minimumRefetchInterval;
+    this.meterRegistry = meterRegistry;
+  }
+
+  /** Starts the background refresh; the first fetch happens right away but does not block. */
+  public void start() {
+    if (!StringUtils.hasText(issuerUri) && !StringUtils.hasText(configuredJwkSetUri)) {
+      return;
+    }
+    schedule =
+        Flux.interval(Duration.ZERO, refreshInterval)
+            .onBackpressureDrop()
+            .concatMap(tick -> fetch().onErrorResume(ex -> Mono.empty()))
+            .subscribe();
+  }
+
+  public void stop() {
+    if (schedule != null) {
+      schedule.dispose();
+    }
+  }
+
+  /** Keys matching the token's header, fetching the key set if it is unknown or lacks the key. */
+  public Flux<JWK> select(SignedJWT jwt) {
+    JWKSelector selector = new JWKSelector(JWKMatcher.forJWSHeader(jwt.getHeader()));
+    JWKSet current = keys.get();
+    if (current != null) {
+      List<JWK> matches = selector.select(current);
+      boolean mayRefetch = Instant.now().isAfter(lastFetch.plus(minimumRefetchInterval));
+      if (!matches.isEmpty() || !mayRefetch) {
+        return Flux.fromIterable(matches);
+      }
+    }
+    return fetch()
+        .onErrorMap(ex -> new JwtException("Could not fetch the issuer's signing keys", ex))
+        .flatMapIterable(selector::select);
+  }
+
+  private Mono<JWKSet> fetch() {
+    return inFlightFetch.updateAndGet(
+        existing ->
+            existing != null
+                ? existing
+                : resolveJwkSetUri()
+                    .flatMap(uri -> webClient.get().uri(uri).retrieve().bodyToMono(String.class))
+                    .map(JwkSetRefresher::parse)
+                    .doOnNext(
+                        set -> {
+                          keys.set(set);
+                          record("success");
+                        })
+                    .doOnError(
+                        ex -> {
+                          record("failure");
+                          log.warn("Could not refresh the JWK set: {}", ex.getMessage());
+                        })
+                    .doFinally(
+                        signal -> {
+                          lastFetch = Instant.now();
+                          inFlightFetch.set(null);
+                        })
+                    .cache());
+  }
+
+  private Mono<String> resolveJwkSetUri() {
+    if (StringUtils.hasText(configuredJwkSetUri)) {
+      return Mono.just(configuredJwkSetUri);
+    }
+    String known = jwkSetUri.get();
+    if (known != null) {
+      return Mono.just(known);
+    }
+    if (!StringUtils.hasText(issuerUri)) {
+      return Mono.error(new IllegalStateException("Neither issuer-uri nor jwk-set-uri is set"));
+    }
+    String discovery = issuerUri.replaceAll("/$", "") + "/.well-known/openid-configuration";
+    return webClient
+        .get()
+        .uri(discovery)
+        .retrieve()
+        .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
+        .map(
+            configuration -> {
+              Object uri = configuration.get("jwks_uri");
+              if (uri == null) {
+                throw new IllegalStateException(discovery + " has no jwks_uri");
+              }
+              jwkSetUri.set(uri.toString());
+              return uri.toString();
+            });
+  }
+
+  private void record(String result) {
+    Counter.builder("gateway.jwks.refresh")
+        .description("Fetches of the issuer's JWK set")
+        .tag("result", result)
+        .register(meterRegistry)
+        .increment();
+  }
+
+  private static JWKSet parse(String body) {
+    try {
+      return JWKSet.parse(body);
+    } catch (ParseException ex) {
+      throw new IllegalStateException("Invalid JWK set: " + ex.getMessage(), ex);
+    }
+  }
+}
@@ -0,0 +1,187 @@
+package com.wassefchargui.gateway.limit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class AdaptiveConcurrencyLimitGatewayFilterFactoryTest {
+
+  private static final int CAPACITY = 10;
+  private static final int CLIENTS = 5 * CAPACITY;
+  private static final Duration SERVICE_TIME = Duration.ofMillis(25);
+  private static final Duration RETRY_PAUSE = Duration.ofMillis(5);
+  private static final Duration WARM_UP = Duration.ofSeconds(1);
+  private static final Duration RUN = Duration.ofSeconds(4);
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final AtomicInteger backendInFlight = new AtomicInteger();
+
+  /**
+   * Five times more concurrent clients than the backend can serve. The stub backend answers in
+   * {@link #SERVICE_TIME} up to {@link #CAPACITY} concurrent requests and queues beyond, one more
+   * service time per {@code CAPACITY} requests ahead: without shedding, every request would take
+   * five service times.
+   */
+  @Test
+  void shedsOverloadAndKeepsAdmittedLatencyBounded() {
+    GatewayFilter filter = filter();
+    long start = System.nanoTime();
+    long measureFrom = start + WARM_UP.toNanos();
+    long end = start + RUN.toNanos();
+
+    List<Outcome> outcomes =
+        Flux.range(0, CLIENTS)
+            .flatMap(client -> client(filter, end), CLIENTS)
+            .filter(outcome -> outcome.startNanos() >= measureFrom)
+            .collectList()
+            .block(RUN.multipliedBy(2));
+
+    List<Outcome> shed =
+        outcomes.stream()
+            .filter(outcome -> HttpStatus.SERVICE_UNAVAILABLE.equals(outcome.status()))
+            .toList();
+    List<Long> admitted =
+        outcomes.stream()
+            .filter(outcome -> HttpStatus.OK.equals(outcome.status()))
+            .map(Outcome::latencyNanos)
+            .sorted()
+            .toList();
+    assertThat(shed.size() + admitted.size()).isEqualTo(outcomes.size());
+
+    assertThat(shed).isNotEmpty().allMatch(outcome -> "1".equals(outcome.retryAfter()));
+
+    Duration p99 = Duration.ofNanos(admitted.get((int) (admitted.size() * 0.99)));
+    assertThat(p99).isLessThan(SERVICE_TIME.multipliedBy(3));
+
+    double measuredSeconds = (RUN.toNanos() - WARM_UP.toNanos()) / 1e9;
+    double goodput = admitted.size() / measuredSeconds;
+    double capacity = CAPACITY * 1e9 / SERVICE_TIME.toNanos();
+    assertThat(goodput).isGreaterThan(capacity / 2);
+  }
+
+  @Test
+  void backsOffOnAServerError() {
+    GatewayFilter filter = filter();
+
+    filter.filter(get(), failing(null)).block();
+
+    assertThat(limit()).isEqualTo(9);
+  }
+
+  @Test
+  void doesNotBackOffWhileTheCircuitBreakerIsOpen() {
+    GatewayFilter filter = filter();
+    CircuitBreaker breaker = CircuitBreaker.ofDefaults("open");
+    Throwable open = CallNotPermittedException.createCallNotPermittedException(breaker);
+
+    for (int i = 0; i < 20; i++) {
+      filter.filter(get(), failing(open)).block();
+    }
+
+    assertThat(limit()).isEqualTo(CAPACITY);
+  }
+
+  @Test
+  void doesNotBackOffOnOtherFallbacks() {
+    GatewayFilter filter = filter();
+
+    filter.filter(get(), failing(new TimeoutException())).block();
+
+    assertThat(limit()).isEqualTo(CAPACITY);
+  }
+
+  private GatewayFilter filter() {
+    AdaptiveConcurrencyLimitGatewayFilterFactory.Config config =
+        new AdaptiveConcurrencyLimitGatewayFilterFactory.Config();
+    config.setRouteId("overloaded");
+    config.setInitialLimit(CAPACITY);
+    return new AdaptiveConcurrencyLimitGatewayFilterFactory(meterRegistry).apply(config);
+  }
+
+  private double limit() {
+    return meterRegistry.get("gateway.concurrency.limit").gauge().value();
+  }
+
+  private static MockServerWebExchange get() {
+    return MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/employees/1"));
+  }
+
+  /**
+   * Answers 500, as the backend or, when {@code fallbackCause} is set, the CircuitBreaker's
+   * fallback does.
+   */
+  private static GatewayFilterChain failing(Throwable fallbackCause) {
+    return exchange ->
+        Mono.fromRunnable(
+            () -> {
+              if (fallbackCause != null) {
+                exchange
+                    .getAttributes()
+                    .put(CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR, fallbackCause);
+              }
+              exchange.getResponse().setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR);
+            });
+  }
+
+  /** Sends requests back to back until {@code end}, pausing briefly after each 503. */
+  private Flux<Outcome> client(GatewayFilter filter, long end) {
+    return Mono.defer(() -> send(filter))
+        .flatMap(
+            outcome ->
+                HttpStatus.SERVICE_UNAVAILABLE.equals(outcome.status())
+                    ? Mono.delay(RETRY_PAUSE).thenReturn(outcome)
+                    : Mono.just(outcome))
+        .repeat(() -> System.nanoTime() < end);
+  }
+
+  private Mono<Outcome> send(GatewayFilter filter) {
+    MockServerWebExchange exchange = get();
+    long start = System.nanoTime();
+    return filter
+        .filter(exchange, backend())
+        .then(
+            Mono.fromSupplier(
+                () ->
+                    new Outcome(
+                        exchange.getResponse().getStatusCode(),
+                        exchange.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER),
+                        start,
+                        System.nanoTime() - start)));
+  }
+
+  private GatewayFilterChain backend() {
+    return exchange ->
+        Mono.defer(
+            () -> {
+              int queued = backendInFlight.incrementAndGet();
+              int serviceTimes = (queued + CAPACITY - 1) / CAPACITY;
+              return Mono.delay(SERVICE_TIME.multipliedBy(serviceTimes))
+                  .then(
+                      Mono.fromRunnable(
+                          () -> exchange.getResponse().setStatusCode(HttpStatus.OK)))
+                  .doFinally(signal -> backendInFlight.decrementAndGet())
+                  .then();
+            });
+  }
+
+  private record Outcome(
+      HttpStatusCode status, String retryAfter, long startNanos, long latencyNanos) {}
+}
@@ -0,0 +1,105 @@
+package com.wassefchargui.gateway.limit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimiterTest {
+
+  private static final long FAST = Duration.ofMillis(1).toNanos();
+  private static final long SLOW = Duration.ofMillis(10).toNanos();
+
+  @Test
+  void shedsRequestsBeyondTheLimit() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 100, 0.5);
+
+    for (int i = 0; i < 4; i++) {
+      assertThat(limiter.tryAcquire(false)).isTrue();
+    }
+    assertThat(limiter.tryAcquire(false)).isFalse();
+
+    limiter.release();
+    assertThat(limiter.tryAcquire(false)).isTrue();
+    assertThat(limiter.getInFlight()).isEqualTo(4);
+  }
+
+  @Test
+  void shedsWritesBeforeReads() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 100, 0.5);
+
+    assertThat(limiter.tryAcquire(true)).isTrue();
+    assertThat(limiter.tryAcquire(true)).isTrue();
+    assertThat(limiter.tryAcquire(true)).isFalse();
+    assertThat(limiter.tryAcquire(false)).isTrue();
+  }
+
+  @Test
+  void backsOffOnADroppedRequest() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 5, 100, 0.5);
+
+    limiter.tryAcquire(false);
+    limiter.release(FAST, true);
+    assertThat(limiter.getLimit()).isEqualTo(9);
+
+    for (int i = 0; i < 20; i++) {
+      limiter.tryAcquire(false);
+      limiter.release(FAST, true);
+    }
+    assertThat(limiter.getLimit()).isEqualTo(5);
+  }
+
+  @Test
+  void growsWhileSaturatedAtSteadyLatency() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 20, 0.5);
+
+    sample(limiter, FAST, 100);
+
+    assertThat(limiter.getLimit()).isEqualTo(20);
+  }
+
+  @Test
+  void shrinksWhenLatencyRises() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 1, 50, 0.5);
+    sample(limiter, FAST, 100);
+
+    sample(limiter, SLOW, 20);
+
+    assertThat(limiter.getLimit()).isLessThan(40);
+  }
+
+  @Test
+  void relearnsTheBaselineOfABackendThatGotSlower() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 4, 20, 0.5);
+    sample(limiter, FAST, 100);
+
+    sample(limiter, SLOW, 50);
+    assertThat(limiter.getLimit()).isLessThan(20);
+
+    // the next probe measures SLOW at minimum concurrency: it is the new baseline
+    sample(limiter, SLOW, 3000);
+    assertThat(limiter.getLimit()).isEqualTo(20);
+  }
+
+  @Test
+  void doesNotGrowAnUnderUsedLimit() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 0.5);
+
+    for (int i = 0; i < 100; i++) {
+      limiter.tryAcquire(false);
+      limiter.release(FAST, false);
+    }
+
+    assertThat(limiter.getLimit()).isEqualTo(10);
+  }
+
+  /** Keeps the limiter saturated and completes {@code count} requests taking {@code rttNanos}. */
+  private static void sample(AdaptiveConcurrencyLimiter limiter, long rttNanos, int count) {
+    for (int i = 0; i < count; i++) {
+      while (limiter.tryAcquire(false)) {
+        // fill every permit
+      }
+      limiter.release(rttNanos, false);
+    }
+  }
+}
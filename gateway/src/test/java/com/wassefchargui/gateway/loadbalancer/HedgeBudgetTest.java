@@ -0,0 +1,40 @@
+package com.wassefchargui.gateway.loadbalancer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class HedgeBudgetTest {
+
+  @Test
+  void startsEmpty() {
+    assertThat(new HedgeBudget(0.25, 10).tryWithdraw()).isFalse();
+  }
+
+  @Test
+  void allowsOneHedgePerRatioOfRequests() {
+    HedgeBudget budget = new HedgeBudget(0.25, 10);
+
+    for (int i = 0; i < 3; i++) {
+      budget.deposit();
+    }
+    assertThat(budget.tryWithdraw()).isFalse();
+
+    budget.deposit();
+    assertThat(budget.tryWithdraw()).isTrue();
+    assertThat(budget.tryWithdraw()).isFalse();
+  }
+
+  @Test
+  void capsBurstsAfterAQuietPeriod() {
+    HedgeBudget budget = new HedgeBudget(0.25, 2);
+
+    for (int i = 0; i < 100; i++) {
+      budget.deposit();
+    }
+
+    assertThat(budget.tryWithdraw()).isTrue();
+    assertThat(budget.tryWithdraw()).isTrue();
+    assertThat(budget.tryWithdraw()).isFalse();
+  }
+}
@@ -0,0 +1,110 @@
+package com.wassefchargui.load_test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Creates the departments and employees the run reads, through the gateway so that the setup also
+ * checks routing and authentication end to end. Uses a fixed seed so every run sees the same data.
+ */
+final class DataSeeder {
+
+    static final List<String> LAST_NAMES = List.of(
+            "Martin", "Bernard", "Dubois", "Thomas", "Robert", "Richard", "Petit", "Durand",
+            "Leroy", "Moreau", "Simon", "Laurent", "Lefebvre", "Michel", "Garcia", "Fournier");
+    private static final List<String> FIRST_NAMES = List.of(
+            "Alice", "Karim", "Sofia", "Yassine", "Emma", "Lucas", "Ines", "Hugo", "Lina", "Omar");
+    private static final int IMPORT_CHUNK_SIZE = 500;
+    private static final int PAGE_SIZE = 200;
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String gatewayUrl;
+    private final String token;
+    private final Random random = new Random(42);
+
+    DataSeeder(HttpClient httpClient, ObjectMapper objectMapper, String gatewayUrl, String token) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.gatewayUrl = gatewayUrl;
+        this.token = token;
+    }
+
+    List<Long> seedDepartements(int count) throws IOException, InterruptedException {
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            JsonNode created = send(post("/api/v1/departements", "{\"nom\":\"Departement " + i + "\"}"));
+            ids.add(created.get("id").asLong());
+        }
+        return ids;
+    }
+
+    List<Long> seedEmployees(int count, List<Long> departmentIds) throws IOException, InterruptedException {
+        for (int from = 0; from < count; from += IMPORT_CHUNK_SIZE) {
+            StringBuilder body = new StringBuilder("[");
+            for (int i = from; i < Math.min(from + IMPORT_CHUNK_SIZE, count); i++) {
+                if (i > from) {
+                    body.append(',');
+                }
+                body.append(employeeJson("seed" + i, departmentIds.get(random.nextInt(departmentIds.size()))));
+            }
+            JsonNode result = send(post("/api/v1/employees/bulk", body.append(']').toString()));
+            if (result.get("errors").size() > 0) {
+                throw new IllegalStateException("Seeding employees failed: " + result.get("errors"));
+            }
+        }
+        return employeeIds();
+    }
+
+    static String employeeJson(String key, Long departmentId) {
+        int hash = Math.abs(key.hashCode());
+        return "{\"firstName\":\"" + FIRST_NAMES.get(hash % FIRST_NAMES.size())
+                + "\",\"lastName\":\"" + LAST_NAMES.get(hash % LAST_NAMES.size())
+                + "\",\"email\":\"" + key + "@loadtest.local\",\"position\":\"Engineer\""
+                + ",\"salary\":" + (40_000 + hash % 60_000)
+                + ",\"hireDate\":\"2024-01-15\",\"departmentId\":" + departmentId + "}";
+    }
+
+    private List<Long> employeeIds() throws IOException, InterruptedException {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            String path = "/api/v1/employees?size=" + PAGE_SIZE
+                    + (cursor == null ? "" : "&cursor=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8));
+            JsonNode page = send(authorized(HttpRequest.newBuilder(URI.create(gatewayUrl + path)).GET()));
+            page.get("content").forEach(employee -> ids.add(employee.get("id").asLong()));
+            cursor = page.path("hasNext").asBoolean() ? page.get("nextCursor").asText() : null;
+        } while (cursor != null);
+        return ids;
+    }
+
+    private HttpRequest.Builder post(String path, String json) {
+        return authorized(HttpRequest.newBuilder(URI.create(gatewayUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json)));
+    }
+
+    private HttpRequest.Builder authorized(HttpRequest.Builder builder) {
+        return builder.header("Authorization", "Bearer " + token);
+    }
+
+    private JsonNode send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException(response.request().method() + " " + response.request().uri()
+                    + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+}
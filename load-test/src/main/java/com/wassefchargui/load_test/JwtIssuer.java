@@ -0,0 +1,57 @@
+package com.wassefchargui.load_test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Stand-in for Keycloak: signs RS256 tokens with a key pair generated for this run. The gateway
+ * trusts them because it is started with the matching public key.
+ */
+final class JwtIssuer {
+
+    private static final Base64.Encoder URL_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final KeyPair keyPair;
+
+    JwtIssuer() throws GeneralSecurityException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        this.keyPair = generator.generateKeyPair();
+    }
+
+    Path writePublicKey(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        String pem = "-----BEGIN PUBLIC KEY-----\n"
+                + Base64.getMimeEncoder(64, "\n".getBytes(StandardCharsets.US_ASCII))
+                        .encodeToString(keyPair.getPublic().getEncoded())
+                + "\n-----END PUBLIC KEY-----\n";
+        return Files.writeString(directory.resolve("jwt-public.pem"), pem);
+    }
+
+    String issue(String subject, Duration timeToLive) throws GeneralSecurityException {
+        Instant now = Instant.now();
+        String header = "{\"alg\":\"RS256\",\"typ\":\"JWT\"}";
+        String payload = "{\"iss\":\"load-test\",\"sub\":\"" + subject + "\",\"preferred_username\":\"" + subject
+                + "\",\"scope\":\"openid profile\",\"iat\":" + now.getEpochSecond()
+                + ",\"exp\":" + now.plus(timeToLive).getEpochSecond() + "}";
+        String signingInput = encode(header) + "." + encode(payload);
+
+        Signature signature = Signature.getInstance("SHA256withRSA");
+        signature.initSign(keyPair.getPrivate());
+        signature.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+        return signingInput + "." + URL_ENCODER.encodeToString(signature.sign());
+    }
+
+    private static String encode(String json) {
+        return URL_ENCODER.encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,120 @@
+package com.wassefchargui.load_test;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: requests are released on a fixed schedule whether or not earlier ones have
+ * returned, and latency is measured from the scheduled send time. A slow system therefore shows up
+ * as higher percentiles instead of silently lowering the offered rate (coordinated omission).
+ *
+ * <p>Arrivals that would exceed {@code maxInFlight} are not sent and are reported as dropped.
+ * Requests the gateway sheds with 503 are counted apart from errors and kept out of the latency
+ * histogram, which therefore describes admitted requests only.
+ */
+final class LoadGenerator {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+    private static final long MAX_TRACKED_LATENCY = TimeUnit.SECONDS.toMicros(60);
+
+    private final HttpClient httpClient;
+    private final Operation.Targets targets;
+    private final String token;
+    private final List<Operation> schedule = new ArrayList<>();
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+
+    LoadGenerator(HttpClient httpClient, Operation.Targets targets, String token, LoadTestConfig config) {
+        this.httpClient = httpClient;
+        this.targets = targets;
+        this.token = token;
+        this.maxInFlight = config.maxInFlight();
+        this.inFlight = new Semaphore(maxInFlight);
+        config.mix().forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                schedule.add(operation);
+            }
+        });
+    }
+
+    /**
+     * Runs the mix at {@code rate} requests per second for {@code duration}, recording latencies
+     * only when {@code record} is set (i.e. not during warm-up).
+     */
+    Map<Operation, Stats> run(int rate, Duration duration, boolean record) throws InterruptedException {
+        Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+        schedule.forEach(operation -> stats.computeIfAbsent(operation, ignored -> new Stats()));
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (long scheduled = start; scheduled < end; scheduled += intervalNanos) {
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = schedule.get(ThreadLocalRandom.current().nextInt(schedule.size()));
+            Stats operationStats = stats.get(operation);
+            if (!inFlight.tryAcquire()) {
+                operationStats.dropped.increment();
+                continue;
+            }
+            send(operation, operationStats, scheduled, record);
+        }
+
+        // wait for the stragglers, each bounded by REQUEST_TIMEOUT
+        inFlight.acquire(maxInFlight);
+        inFlight.release(maxInFlight);
+        stats.values().forEach(operationStats -> operationStats.elapsedNanos = end - start);
+        return stats;
+    }
+
+    private void send(Operation operation, Stats stats, long scheduled, boolean record) {
+        HttpRequest request = operation.request(targets, ThreadLocalRandom.current())
+                .header("Authorization", "Bearer " + token)
+                .timeout(REQUEST_TIMEOUT)
+                .build();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, failure) -> {
+                    inFlight.release();
+                    if (!record) {
+                        return;
+                    }
+                    if (failure == null && response.statusCode() == 503) {
+                        stats.shed.increment();
+                        return;
+                    }
+                    long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduled);
+                    stats.latency.recordValue(Math.min(latencyMicros, MAX_TRACKED_LATENCY));
+                    if (failure != null || response.statusCode() >= 400) {
+                        stats.errors.increment();
+                    }
+                });
+    }
+
+    /**
+     * Outcome of one operation over a run. Latencies are in microseconds.
+     */
+    static final class Stats {
+
+        final Histogram latency = new ConcurrentHistogram(MAX_TRACKED_LATENCY, 3);
+        final LongAdder errors = new LongAdder();
+        final LongAdder shed = new LongAdder();
+        final LongAdder dropped = new LongAdder();
+        long elapsedNanos;
+    }
+}
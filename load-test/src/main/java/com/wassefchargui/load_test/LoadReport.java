@@ -0,0 +1,109 @@
+package com.wassefchargui.load_test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-operation and overall throughput, goodput (successful requests per second), error and shed
+ * rates and latency percentiles of admitted requests, printed as a table and written as JSON so
+ * that a later run can be compared against it.
+ */
+final class LoadReport {
+
+    private static final String OVERALL = "overall";
+
+    private final Map<String, Row> rows = new LinkedHashMap<>();
+
+    LoadReport(Map<Operation, LoadGenerator.Stats> stats) {
+        Histogram overall = new Histogram(3);
+        long errors = 0;
+        long shed = 0;
+        long dropped = 0;
+        long elapsedNanos = 0;
+        for (Map.Entry<Operation, LoadGenerator.Stats> entry : stats.entrySet()) {
+            LoadGenerator.Stats operationStats = entry.getValue();
+            rows.put(entry.getKey().key(), Row.of(operationStats.latency, operationStats.errors.sum(),
+                    operationStats.shed.sum(), operationStats.dropped.sum(), operationStats.elapsedNanos));
+            overall.add(operationStats.latency);
+            errors += operationStats.errors.sum();
+            shed += operationStats.shed.sum();
+            dropped += operationStats.dropped.sum();
+            elapsedNanos = Math.max(elapsedNanos, operationStats.elapsedNanos);
+        }
+        rows.put(OVERALL, Row.of(overall, errors, shed, dropped, elapsedNanos));
+    }
+
+    void print() {
+        System.out.printf("%n%-24s %9s %9s %9s %8s %8s %8s %9s %9s %9s %9s%n",
+                "operation", "requests", "req/s", "goodput", "errors", "shed", "dropped",
+                "p50 ms", "p95 ms", "p99 ms", "max ms");
+        rows.forEach((name, row) -> System.out.printf(
+                "%-24s %9d %9.1f %9.1f %7.2f%% %7.2f%% %8d %9.2f %9.2f %9.2f %9.2f%n",
+                name, row.requests(), row.throughput(), row.goodput(), row.errorRate() * 100,
+                row.shedRate() * 100, row.dropped(), row.p50(), row.p95(), row.p99(), row.max()));
+    }
+
+    void write(ObjectMapper objectMapper, Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), rows);
+        System.out.println("\nReport written to " + file.toAbsolutePath());
+    }
+
+    /**
+     * Prints the relative change of throughput, goodput and p50/p99 against a previous report.
+     * Positive latency deltas mean this run is slower.
+     */
+    void compare(ObjectMapper objectMapper, Path baselineFile) throws IOException {
+        JsonNode baseline = objectMapper.readTree(baselineFile.toFile());
+        System.out.printf("%nCompared to %s%n%-24s %10s %10s %10s %10s %12s%n",
+                baselineFile, "operation", "req/s", "goodput", "p50", "p99", "error rate");
+        rows.forEach((name, row) -> {
+            JsonNode previous = baseline.get(name);
+            if (previous == null) {
+                return;
+            }
+            System.out.printf("%-24s %10s %10s %10s %10s %+11.2fpp%n", name,
+                    delta(row.throughput(), previous.get("throughput").asDouble()),
+                    delta(row.goodput(), previous.path("goodput").asDouble()),
+                    delta(row.p50(), previous.get("p50").asDouble()),
+                    delta(row.p99(), previous.get("p99").asDouble()),
+                    (row.errorRate() - previous.get("errorRate").asDouble()) * 100);
+        });
+    }
+
+    private static String delta(double current, double previous) {
+        return previous == 0 ? "n/a" : String.format("%+.1f%%", (current - previous) / previous * 100);
+    }
+
+    /**
+     * Latencies (of admitted requests) in milliseconds, throughput and goodput in completed and
+     * successful requests per second.
+     */
+    record Row(long requests, double throughput, double goodput, double errorRate, double shedRate,
+               long dropped, double p50, double p95, double p99, double max) {
+
+        static Row of(Histogram latency, long errors, long shed, long dropped, long elapsedNanos) {
+            long requests = latency.getTotalCount() + shed;
+            double seconds = elapsedNanos / 1e9;
+            return new Row(
+                    requests,
+                    seconds == 0 ? 0 : requests / seconds,
+                    seconds == 0 ? 0 : (latency.getTotalCount() - errors) / seconds,
+                    requests == 0 ? 0 : (double) errors / requests,
+                    requests == 0 ? 0 : (double) shed / requests,
+                    dropped,
+                    latency.getValueAtPercentile(50) / 1000.0,
+                    latency.getValueAtPercentile(95) / 1000.0,
+                    latency.getValueAtPercentile(99) / 1000.0,
+                    latency.getMaxValue() / 1000.0);
+        }
+    }
+}
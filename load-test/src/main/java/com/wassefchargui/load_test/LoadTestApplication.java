@@ -0,0 +1,118 @@
+package com.wassefchargui.load_test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-to-end load test of the gateway routes.
+ *
+ * <p>By default starts department-service, employee-service and the gateway from their packaged
+ * jars with the {@code loadtest} profile, seeds data through the gateway, applies a warm-up and then
+ * a measured constant-rate request mix, and prints/writes the report. Any two runs can be compared
+ * by passing the first report as {@code -Dloadtest.baseline}.
+ *
+ * <p>{@code -Dloadtest.compare-threads=true} compares platform and virtual threads: the stack is
+ * started with {@code VIRTUAL_THREADS_ENABLED=false}, loaded, stopped, started again with
+ * {@code VIRTUAL_THREADS_ENABLED=true} and loaded at the same rate. Both reports are written next to
+ * {@code -Dloadtest.report} (suffixed {@code -platform-threads} and {@code -virtual-threads}) and the
+ * throughput and p99 of the virtual-thread run are printed relative to the platform-thread one. The
+ * difference only shows once requests wait on I/O, so the rate should be high enough to keep
+ * Tomcat's 200 platform threads busy.
+ *
+ * <p>Load shedding is checked the same way: run at the sustainable rate, then at five times that
+ * rate against the first report. With the gateway's adaptive concurrency limit, goodput should hold
+ * and the p99 of admitted requests stay close to the baseline, the excess showing up as shed (503)
+ * rather than as errors or timeouts.
+ */
+public class LoadTestApplication {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        if (!config.compareThreads()) {
+            LoadReport report = run(config, Map.of(), config.reportFile(), objectMapper);
+            if (config.baselineFile() != null) {
+                report.compare(objectMapper, config.baselineFile());
+            }
+            return;
+        }
+
+        if (!config.launch()) {
+            throw new IllegalArgumentException(
+                    "loadtest.compare-threads needs loadtest.launch=true, the services are restarted for each run");
+        }
+        Path platformReport = suffixed(config.reportFile(), "platform-threads");
+        Path virtualReport = suffixed(config.reportFile(), "virtual-threads");
+        System.out.println("Run 1/2: services on platform threads");
+        run(config, Map.of("VIRTUAL_THREADS_ENABLED", "false"), platformReport, objectMapper);
+        System.out.println("\nRun 2/2: services on virtual threads");
+        LoadReport virtual = run(config, Map.of("VIRTUAL_THREADS_ENABLED", "true"), virtualReport, objectMapper);
+        virtual.compare(objectMapper, platformReport);
+    }
+
+    /**
+     * Starts the stack (unless targeting a running one) with {@code environment}, seeds it, applies
+     * the warm-up and the measured load, and prints and writes the report to {@code reportFile}.
+     */
+    private static LoadReport run(LoadTestConfig config, Map<String, String> environment, Path reportFile,
+                                  ObjectMapper objectMapper) throws Exception {
+        JwtIssuer jwtIssuer = new JwtIssuer();
+        String token = jwtIssuer.issue("load-test", config.warmup().plus(config.duration()).plusHours(1));
+
+        try (ServiceLauncher launcher = new ServiceLauncher(config.projectDir(), Path.of("target", "logs"), environment);
+             HttpClient httpClient = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(Duration.ofSeconds(5))
+                     .executor(Executors.newVirtualThreadPerTaskExecutor())
+                     .build()) {
+            if (config.launch()) {
+                Path publicKey = jwtIssuer.writePublicKey(Path.of("target"));
+                launcher.start("department-service");
+                launcher.start("employee-service");
+                launcher.start("gateway", "--spring.security.oauth2.resourceserver.jwt.public-key-location=file:"
+                        + publicKey.toAbsolutePath());
+                launcher.awaitReady(URI.create("http://localhost:8081/api/v1/departements?size=1"), Duration.ofMinutes(2));
+                launcher.awaitReady(URI.create("http://localhost:8082/api/v1/employees?size=1"), Duration.ofMinutes(2));
+                launcher.awaitReady(URI.create(config.gatewayUrl() + "/actuator/health"), Duration.ofMinutes(2));
+            }
+
+            DataSeeder seeder = new DataSeeder(httpClient, objectMapper, config.gatewayUrl(), token);
+            List<Long> departmentIds = seeder.seedDepartements(config.departments());
+            List<Long> employeeIds = seeder.seedEmployees(config.employees(), departmentIds);
+            System.out.printf("Seeded %d departments and %d employees%n", departmentIds.size(), employeeIds.size());
+
+            LoadGenerator generator = new LoadGenerator(httpClient,
+                    new Operation.Targets(config.gatewayUrl(), departmentIds, employeeIds, new AtomicLong()),
+                    token, config);
+            System.out.printf("Warming up for %s at %d req/s%n", config.warmup(), config.rate());
+            generator.run(config.rate(), config.warmup(), false);
+            System.out.printf("Measuring for %s at %d req/s%n", config.duration(), config.rate());
+            Map<Operation, LoadGenerator.Stats> stats = generator.run(config.rate(), config.duration(), true);
+
+            LoadReport report = new LoadReport(stats);
+            report.print();
+            report.write(objectMapper, reportFile);
+            return report;
+        }
+    }
+
+    /**
+     * {@code target/loadtest-report.json} with suffix {@code x} gives {@code target/loadtest-report-x.json}.
+     */
+    private static Path suffixed(Path file, String suffix) {
+        String name = file.getFileName().toString();
+        int extension = name.lastIndexOf('.');
+        return extension < 0
+                ? file.resolveSibling(name + "-" + suffix)
+                : file.resolveSibling(name.substring(0, extension) + "-" + suffix + name.substring(extension));
+    }
+}
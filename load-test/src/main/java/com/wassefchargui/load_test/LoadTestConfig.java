@@ -0,0 +1,81 @@
+package com.wassefchargui.load_test;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Load-test settings, read from {@code -Dloadtest.*} system properties.
+ *
+ * @param gatewayUrl       base URL of the gateway under test
+ * @param launch           whether to start gateway, employee-service and department-service from
+ *                         their packaged jars, or to target an already running stack
+ * @param projectDir       repository root, used to locate the service jars
+ * @param rate             requests per second, sent at a constant arrival rate
+ * @param warmup           load applied before measuring
+ * @param duration         measured load
+ * @param maxInFlight      requests allowed in flight before new arrivals are counted as dropped
+ * @param departments      departments created before the run
+ * @param employees        employees created before the run
+ * @param mix              relative weight of every {@link Operation}
+ * @param reportFile       where the JSON report is written
+ * @param baselineFile     previous JSON report to compare against, or {@code null}
+ * @param compareThreads   whether to run the load twice, against services started on platform and
+ *                         then on virtual threads, and compare the second run to the first
+ */
+record LoadTestConfig(
+        String gatewayUrl,
+        boolean launch,
+        Path projectDir,
+        int rate,
+        Duration warmup,
+        Duration duration,
+        int maxInFlight,
+        int departments,
+        int employees,
+        Map<Operation, Integer> mix,
+        Path reportFile,
+        Path baselineFile,
+        boolean compareThreads) {
+
+    private static final String DEFAULT_MIX =
+            "departementById=30,departementPage=10,employeeById=25,employeePage=10,"
+                    + "employeesByDepartement=15,employeeSearch=5,employeeCreate=5";
+
+    static LoadTestConfig fromSystemProperties() {
+        String baseline = property("baseline", "");
+        return new LoadTestConfig(
+                property("gateway-url", "http://localhost:8222"),
+                Boolean.parseBoolean(property("launch", "true")),
+                Path.of(property("project-dir", "..")).toAbsolutePath().normalize(),
+                Integer.parseInt(property("rate", "100")),
+                duration(property("warmup", "10s")),
+                duration(property("duration", "60s")),
+                Integer.parseInt(property("max-in-flight", "2000")),
+                Integer.parseInt(property("departments", "20")),
+                Integer.parseInt(property("employees", "2000")),
+                mix(property("mix", DEFAULT_MIX)),
+                Path.of(property("report", "target/loadtest-report.json")),
+                baseline.isBlank() ? null : Path.of(baseline),
+                Boolean.parseBoolean(property("compare-threads", "false")));
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+
+    private static Duration duration(String value) {
+        return Duration.parse("PT" + value.toUpperCase(Locale.ROOT));
+    }
+
+    private static Map<Operation, Integer> mix(String value) {
+        Map<Operation, Integer> weights = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split("=");
+            weights.put(Operation.fromKey(parts[0]), Integer.parseInt(parts[1]));
+        }
+        return weights;
+    }
+}
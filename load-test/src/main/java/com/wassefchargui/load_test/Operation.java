@@ -0,0 +1,95 @@
+package com.wassefchargui.load_test;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The gateway calls the load test mixes, each building its request against the seeded data.
+ */
+enum Operation {
+
+    DEPARTEMENT_BY_ID("departementById") {
+        @Override
+        HttpRequest.Builder request(Targets targets, ThreadLocalRandom random) {
+            return get(targets, "/api/v1/departements/" + pick(targets.departmentIds(), random));
+        }
+    },
+    DEPARTEMENT_PAGE("departementPage") {
+        @Override
+        HttpRequest.Builder request(Targets targets, ThreadLocalRandom random) {
+            return get(targets, "/api/v1/departements?size=20");
+        }
+    },
+    EMPLOYEE_BY_ID("employeeById") {
+        @Override
+        HttpRequest.Builder request(Targets targets, ThreadLocalRandom random) {
+            return get(targets, "/api/v1/employees/" + pick(targets.employeeIds(), random));
+        }
+    },
+    EMPLOYEE_PAGE("employeePage") {
+        @Override
+        HttpRequest.Builder request(Targets targets, ThreadLocalRandom random) {
+            return get(targets, "/api/v1/employees?size=20");
+        }
+    },
+    EMPLOYEES_BY_DEPARTEMENT("employeesByDepartement") {
+        @Override
+        HttpRequest.Builder request(Targets targets, ThreadLocalRandom random) {
+            return get(targets, "/api/v1/employees/department/" + pick(targets.departmentIds(), random));
+        }
+    },
+    EMPLOYEE_SEARCH("employeeSearch") {
+        @Override
+        HttpRequest.Builder request(Targets targets, ThreadLocalRandom random) {
+            return get(targets, "/api/v1/employees/search?name=" + DataSeeder.LAST_NAMES.get(
+                    random.nextInt(DataSeeder.LAST_NAMES.size())).substring(0, 3));
+        }
+    },
+    EMPLOYEE_CREATE("employeeCreate") {
+        @Override
+        HttpRequest.Builder request(Targets targets, ThreadLocalRandom random) {
+            long n = targets.created().incrementAndGet();
+            String body = DataSeeder.employeeJson("load" + n, pick(targets.departmentIds(), random));
+            return HttpRequest.newBuilder(URI.create(targets.gatewayUrl() + "/api/v1/employees"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body));
+        }
+    };
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    abstract HttpRequest.Builder request(Targets targets, ThreadLocalRandom random);
+
+    static Operation fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation '" + key + "'"));
+    }
+
+    private static HttpRequest.Builder get(Targets targets, String path) {
+        return HttpRequest.newBuilder(URI.create(targets.gatewayUrl() + path)).GET();
+    }
+
+    private static Long pick(List<Long> ids, ThreadLocalRandom random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    /**
+     * What the requests point at: the gateway and the ids created by {@link DataSeeder}.
+     */
+    record Targets(String gatewayUrl, List<Long> departmentIds, List<Long> employeeIds, AtomicLong created) {
+    }
+}
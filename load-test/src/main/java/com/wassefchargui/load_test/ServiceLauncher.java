@@ -0,0 +1,104 @@
+package com.wassefchargui.load_test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Starts the packaged services with the {@code loadtest} profile (embedded H2, static discovery,
+ * no config server, Eureka or Kafka) and stops them when closed. Logs go to {@code target/logs}.
+ * Every process gets the given environment variables on top of this one's.
+ */
+final class ServiceLauncher implements AutoCloseable {
+
+    private final Path projectDir;
+    private final Path logDir;
+    private final Map<String, String> environment;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+    private final List<Process> processes = new ArrayList<>();
+
+    ServiceLauncher(Path projectDir, Path logDir, Map<String, String> environment) {
+        this.projectDir = projectDir;
+        this.logDir = logDir;
+        this.environment = environment;
+    }
+
+    void start(String module, String... extraArgs) throws IOException {
+        Files.createDirectories(logDir);
+        List<String> command = new ArrayList<>(List.of(
+                ProcessHandle.current().info().command().orElse("java"),
+                "-jar", findJar(module).toString(),
+                "--spring.profiles.active=loadtest"));
+        command.addAll(List.of(extraArgs));
+
+        System.out.println("Starting " + module);
+        ProcessBuilder processBuilder = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logDir.resolve(module + ".log").toFile());
+        processBuilder.environment().putAll(environment);
+        processes.add(processBuilder.start());
+    }
+
+    /**
+     * Polls {@code uri} until it answers 200, failing after {@code timeout}.
+     */
+    void awaitReady(URI uri, Duration timeout) throws InterruptedException {
+        Instant deadline = Instant.now().plus(timeout);
+        while (Instant.now().isBefore(deadline)) {
+            try {
+                HttpResponse<Void> response = httpClient.send(
+                        HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(2)).build(),
+                        HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException ex) {
+                // not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException(uri + " not ready after " + timeout + ", see " + logDir);
+    }
+
+    @Override
+    public void close() {
+        processes.forEach(Process::destroy);
+        // wait for the ports to be released, so that a following run can start the services again
+        for (Process process : processes) {
+            try {
+                if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private Path findJar(String module) throws IOException {
+        Path target = projectDir.resolve(module).resolve("target");
+        try (Stream<Path> files = Files.list(target)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException(
+                            "No jar in " + target + ", run ./mvnw install -DskipTests at the repository root"));
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+}